@@ -0,0 +1,64 @@
+package com.bikefinder.auth.benchmark;
+
+import com.bikefinder.auth.application.dto.AuthResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización de la respuesta de login/refresh con el ObjectMapper que arma Spring MVC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private AuthResponseDto response;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        response = new AuthResponseDto(
+                "eyJhbGciOiJSUzI1NiJ9." + "x".repeat(400) + "." + "y".repeat(342),
+                UUID.randomUUID() + "-" + UUID.randomUUID(),
+                "Bearer",
+                900000L,
+                Instant.now().plusSeconds(900),
+                new AuthResponseDto.UserInfoDto(
+                        UUID.randomUUID().toString(),
+                        "rider@bike.com",
+                        "Juan Pérez",
+                        "+5491112345678",
+                        true,
+                        "https://cdn.bike.com/avatars/1.png",
+                        "PREFER_NOT_TO_SAY",
+                        LocalDate.of(1990, 1, 1),
+                        new AuthResponseDto.UserInfoDto.LocationDto(1, "Palermo", "Comuna 14", "CABA", "Argentina")
+                )
+        );
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
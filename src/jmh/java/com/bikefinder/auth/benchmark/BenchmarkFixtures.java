@@ -0,0 +1,83 @@
+package com.bikefinder.auth.benchmark;
+
+import com.bikefinder.auth.infrastructure.security.jwt.JwtKeyring;
+import com.bikefinder.auth.infrastructure.security.jwt.JwtProvider;
+import com.bikefinder.auth.infrastructure.security.jwt.JwtSigningAlgorithm;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+
+/**
+ * Construye los componentes reales (sin contexto Spring) con la misma configuración
+ * que application.properties, usando claves generadas al vuelo.
+ */
+final class BenchmarkFixtures {
+
+    static final String KEY_ID = "bench-key-v1";
+    static final long ACCESS_EXPIRATION_MS  = 900_000;
+    static final long REFRESH_EXPIRATION_MS = 604_800_000;
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtKeyring keyring(JwtSigningAlgorithm algorithm) {
+        try {
+            KeyPair keyPair = generateKeyPair(algorithm);
+            Path dir = Files.createTempDirectory("jmh-keys");
+            Path privatePem = writePem(dir.resolve("private.pem"), "PRIVATE KEY", keyPair.getPrivate().getEncoded());
+            Path publicPem  = writePem(dir.resolve("public.pem"), "PUBLIC KEY", keyPair.getPublic().getEncoded());
+
+            JwtKeyring keyring = new JwtKeyring();
+            ReflectionTestUtils.setField(keyring, "privateKeyResource", new FileSystemResource(privatePem));
+            ReflectionTestUtils.setField(keyring, "publicKeyResource", new FileSystemResource(publicPem));
+            ReflectionTestUtils.setField(keyring, "algorithmName", algorithm.name());
+            ReflectionTestUtils.setField(keyring, "activeKeyId", KEY_ID);
+            ReflectionTestUtils.setField(keyring, "keyDir", "");
+            ReflectionTestUtils.setField(keyring, "retiredKeyGraceMs", ACCESS_EXPIRATION_MS);
+            keyring.init();
+            return keyring;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudieron generar las claves de benchmark", e);
+        }
+    }
+
+    static JwtProvider jwtProvider(JwtSigningAlgorithm algorithm) {
+        return jwtProvider(keyring(algorithm));
+    }
+
+    static JwtProvider jwtProvider(JwtKeyring keyring) {
+        JwtProvider provider = new JwtProvider(keyring);
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", ACCESS_EXPIRATION_MS);
+        ReflectionTestUtils.setField(provider, "refreshExpirationMs", REFRESH_EXPIRATION_MS);
+        ReflectionTestUtils.setField(provider, "issuer", "auth-service");
+        ReflectionTestUtils.setField(provider, "audience", "bike-ecosystem");
+        provider.init();
+        return provider;
+    }
+
+    private static KeyPair generateKeyPair(JwtSigningAlgorithm algorithm) throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm.keyFactoryAlgorithm());
+        switch (algorithm) {
+            case RS256 -> generator.initialize(2048);
+            case ES256 -> generator.initialize(new ECGenParameterSpec("secp256r1"));
+            case EdDSA -> { /* Ed25519 no tiene parámetros */ }
+        }
+        return generator.generateKeyPair();
+    }
+
+    private static Path writePem(Path path, String type, byte[] der) throws IOException {
+        String pem = "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder().encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+        return Files.writeString(path, pem, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,123 @@
+package com.bikefinder.auth.benchmark;
+
+import com.bikefinder.auth.domain.valueobject.UserId;
+import com.bikefinder.auth.domain.valueobject.UserStatus;
+import com.bikefinder.auth.infrastructure.security.jwt.JwtKeyring;
+import com.bikefinder.auth.infrastructure.security.jwt.JwtProvider;
+import com.bikefinder.auth.infrastructure.security.jwt.JwtSigningAlgorithm;
+import com.bikefinder.auth.infrastructure.security.jwt.VerifiedToken;
+import com.bikefinder.auth.infrastructure.security.jwt.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.PublicKey;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Camino caliente de tokens con la configuración de producción (RS256, RSA-2048).
+ *
+ * legacyValidateThenExtract reproduce lo que hacía el filtro JWT antes de VerifiedToken:
+ * validateToken() + extractUserId(), cada uno construyendo su propio parser y
+ * verificando la firma. verifyAccessToken es el camino actual (una sola verificación)
+ * y cachedVerifyAccessToken el mismo request con VerifiedTokenCache habilitada.
+ *
+ * legacyJjwtAccessToken emite el mismo access token con el builder de jjwt (HashMap de
+ * claims, Date, serialización Jackson), como antes de PreEncodedJwtIssuer. Comparar
+ * contra generateAccessToken con -prof gc (gc.alloc.rate.norm = bytes por token).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtProviderBenchmark {
+
+    private JwtProvider jwtProvider;
+    private VerifiedTokenCache verifiedTokenCache;
+    private JwtKeyring.JwtKey signingKey;
+    private PublicKey publicKey;
+    private UserId userId;
+    private String accessToken;
+
+    @Setup
+    public void setup() {
+        JwtKeyring keyring = BenchmarkFixtures.keyring(JwtSigningAlgorithm.RS256);
+        jwtProvider = BenchmarkFixtures.jwtProvider(keyring);
+
+        verifiedTokenCache = new VerifiedTokenCache(jwtProvider, new SimpleMeterRegistry(), true, 10_000);
+        signingKey = keyring.activeKey();
+        publicKey = signingKey.publicKey();
+        userId = new UserId(UUID.randomUUID());
+        accessToken = jwtProvider.generateAccessToken(userId, "rider@bike.com", UserStatus.ACTIVE);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtProvider.generateAccessToken(userId, "rider@bike.com", UserStatus.ACTIVE);
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return jwtProvider.generateRefreshToken(userId);
+    }
+
+    @Benchmark
+    public String legacyJjwtAccessToken() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("email", "rider@bike.com");
+        claims.put("type", JwtProvider.TOKEN_TYPE_ACCESS);
+        claims.put("roles", JwtProvider.DEFAULT_ROLES);
+        claims.put("status", UserStatus.ACTIVE.name());
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .header().keyId(signingKey.keyId()).and()
+                .claims(claims)
+                .subject(userId.value().toString())
+                .issuer("auth-service")
+                .audience().add("bike-ecosystem").and()
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusMillis(BenchmarkFixtures.ACCESS_EXPIRATION_MS)))
+                .signWith(signingKey.privateKey(), signingKey.algorithm().signatureAlgorithm())
+                .compact();
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtProvider.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public UUID legacyValidateThenExtract() {
+        Jwts.parser().verifyWith(publicKey).build().parseSignedClaims(accessToken);
+        Claims claims = Jwts.parser().verifyWith(publicKey).build().parseSignedClaims(accessToken).getPayload();
+        return UUID.fromString(claims.getSubject());
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verifyAccessToken() {
+        return jwtProvider.verifyAccessToken(accessToken);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> cachedVerifyAccessToken() {
+        return verifiedTokenCache.verifyAccessToken(accessToken);
+    }
+}
@@ -0,0 +1,60 @@
+package com.bikefinder.auth.benchmark;
+
+import com.bikefinder.auth.infrastructure.security.adapter.PasswordEncoderPortImpl;
+import com.bikefinder.auth.infrastructure.security.crypto.CryptoExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificación de password en el login. El cost por defecto (12) es el piso de
+ * auth.password.bcrypt.strength (PasswordEncoderFactory lo sube si la calibración lo
+ * permite); se puede variar con -p cost=10,12,14.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "SecurePass123!";
+
+    @Param({"12"})
+    public int cost;
+
+    private CryptoExecutor cryptoExecutor;
+    private PasswordEncoderPortImpl passwordEncoder;
+    private String passwordHash;
+
+    @Setup
+    public void setup() {
+        cryptoExecutor = new CryptoExecutor(new SimpleMeterRegistry(), 0, 32, 1);
+        passwordEncoder = new PasswordEncoderPortImpl(new BCryptPasswordEncoder(cost), cryptoExecutor);
+        passwordHash = passwordEncoder.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        cryptoExecutor.shutdown();
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(PASSWORD, passwordHash);
+    }
+}
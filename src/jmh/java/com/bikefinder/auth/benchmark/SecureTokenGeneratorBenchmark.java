@@ -0,0 +1,59 @@
+package com.bikefinder.auth.benchmark;
+
+import com.bikefinder.auth.infrastructure.security.token.SecureTokenGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generación de tokens aleatorios con 64 threads concurrentes (ráfaga de logins/registros).
+ *
+ * legacyRefreshToken / legacyVerificationToken reproducen la generación anterior
+ * basada en UUID.randomUUID() (SecureRandom compartido) como referencia.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(64)
+@Fork(1)
+public class SecureTokenGeneratorBenchmark {
+
+    @Param({"256"})
+    public int entropyBits;
+
+    private SecureTokenGenerator generator;
+
+    @Setup
+    public void setup() {
+        generator = new SecureTokenGenerator(entropyBits);
+    }
+
+    @Benchmark
+    public String generate() {
+        return generator.generate();
+    }
+
+    @Benchmark
+    public String legacyRefreshToken() {
+        return UUID.randomUUID() + "-" + UUID.randomUUID();
+    }
+
+    @Benchmark
+    public String legacyVerificationToken() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+}
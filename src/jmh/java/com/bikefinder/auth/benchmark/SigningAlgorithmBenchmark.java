@@ -0,0 +1,59 @@
+package com.bikefinder.auth.benchmark;
+
+import com.bikefinder.auth.domain.valueobject.UserId;
+import com.bikefinder.auth.domain.valueobject.UserStatus;
+import com.bikefinder.auth.infrastructure.security.jwt.JwtProvider;
+import com.bikefinder.auth.infrastructure.security.jwt.JwtSigningAlgorithm;
+import com.bikefinder.auth.infrastructure.security.jwt.VerifiedToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Firma y verificación (ops/s) para cada valor de auth.jwt.algorithm.
+ * Sirve para elegir el algoritmo con números medidos en el hardware real.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SigningAlgorithmBenchmark {
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    public String algorithm;
+
+    private JwtProvider jwtProvider;
+    private UserId userId;
+    private String accessToken;
+
+    @Setup
+    public void setup() {
+        jwtProvider = BenchmarkFixtures.jwtProvider(JwtSigningAlgorithm.fromConfig(algorithm));
+        userId = new UserId(UUID.randomUUID());
+        accessToken = jwtProvider.generateAccessToken(userId, "rider@bike.com", UserStatus.ACTIVE);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtProvider.generateAccessToken(userId, "rider@bike.com", UserStatus.ACTIVE);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verify() {
+        return jwtProvider.verifyAccessToken(accessToken);
+    }
+}
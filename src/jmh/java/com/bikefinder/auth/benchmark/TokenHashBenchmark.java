@@ -0,0 +1,73 @@
+package com.bikefinder.auth.benchmark;
+
+import com.bikefinder.auth.infrastructure.security.util.TokenHashUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SHA-256 de un refresh token con el formato emitido por RefreshTokenPortImpl.
+ *
+ * legacyHash reproduce la implementación anterior (getInstance + getBytes + Base64
+ * en cada llamada) como referencia; hashBytes es lo que usa el camino de refresh.
+ * Con -prof gc se ve la diferencia de asignación por operación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenHashBenchmark {
+
+    private String refreshToken;
+
+    @Setup
+    public void setup() {
+        refreshToken = UUID.randomUUID() + "-" + UUID.randomUUID();
+    }
+
+    @Benchmark
+    public byte[] hashBytes() {
+        return TokenHashUtil.hashBytes(refreshToken);
+    }
+
+    @Benchmark
+    public String hash() {
+        return TokenHashUtil.hash(refreshToken);
+    }
+
+    @Benchmark
+    public String legacyHash() throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] hashBytes = digest.digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hashBytes);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public byte[] hashBytesContended() {
+        return TokenHashUtil.hashBytes(refreshToken);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String legacyHashContended() throws NoSuchAlgorithmException {
+        return legacyHash();
+    }
+}
@@ -0,0 +1,75 @@
+package com.bikefinder.auth.benchmark;
+
+import com.bikefinder.auth.domain.model.User;
+import com.bikefinder.auth.domain.valueobject.UserStatus;
+import com.bikefinder.auth.infrastructure.persistence.entity.CredentialEntity;
+import com.bikefinder.auth.infrastructure.persistence.entity.UserEntity;
+import com.bikefinder.auth.infrastructure.persistence.mapper.CredentialMapperImpl;
+import com.bikefinder.auth.infrastructure.persistence.mapper.UserMapperImpl;
+import com.bikefinder.auth.infrastructure.persistence.mapper.UserMapperManual;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserEntity → User con perfil completo y credential, como en cada findById/findByEmail.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    private UserMapperManual userMapper;
+    private UserEntity entity;
+
+    @Setup
+    public void setup() {
+        userMapper = new UserMapperManual(new UserMapperImpl(), new CredentialMapperImpl());
+
+        entity = UserEntity.builder()
+                .id(UUID.randomUUID())
+                .email("rider@bike.com")
+                .emailVerified(true)
+                .status(UserStatus.ACTIVE)
+                .fullName("Juan Pérez")
+                .phoneNumber("+5491112345678")
+                .phoneVerified(true)
+                .gender(UserEntity.Gender.PREFER_NOT_TO_SAY)
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .localityId(1)
+                .localityName("Palermo")
+                .departmentName("Comuna 14")
+                .provinceName("CABA")
+                .countryName("Argentina")
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .version(1)
+                .build();
+        entity.setCredential(CredentialEntity.builder()
+                .userId(entity.getId())
+                .user(entity)
+                .passwordHash("$2a$12$abcdefghijklmnopqrstuuJ0wE1Yl1F2b3c4d5e6f7g8h9i0jklmn")
+                .updatedAt(Instant.now())
+                .build());
+    }
+
+    @Benchmark
+    public User toDomain() {
+        return userMapper.toDomain(entity);
+    }
+}
@@ -0,0 +1,10 @@
+package com.bikefinder.auth.application.command;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+import java.util.UUID;
+
+public record IssueTokensBatchCommand(
+        @NotEmpty List<UUID> userIds
+) {}
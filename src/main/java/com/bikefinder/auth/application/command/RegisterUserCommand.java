@@ -7,5 +7,7 @@ import jakarta.validation.constraints.Size;
 public record RegisterUserCommand(
         @NotBlank @Email String email,
         @NotBlank @Size(min = 8, max = 100) String password,
-        @NotBlank @Size(min = 2, max = 100) String fullName
+        @NotBlank @Size(min = 2, max = 100) String fullName,
+        String ipAddress,
+        String userAgent
 ) {}
@@ -0,0 +1,21 @@
+package com.bikefinder.auth.application.dto;
+
+import java.time.Instant;
+
+/**
+ * Resultado de la emisión en lote para un usuario: tokens emitidos o, si no se
+ * pudieron emitir, el código de error (el resto de los campos queda en null).
+ */
+public record IssuedTokenDto(
+        String userId,
+        String accessToken,
+        String refreshToken,
+        String tokenType,
+        Long expiresIn,
+        Instant expiresAt,
+        String error
+) {
+    public static IssuedTokenDto failed(String userId, String error) {
+        return new IssuedTokenDto(userId, null, null, null, null, null, error);
+    }
+}
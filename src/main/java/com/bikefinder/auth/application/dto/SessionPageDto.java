@@ -0,0 +1,21 @@
+package com.bikefinder.auth.application.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Página de sesiones activas. nextCursor es opaco: se reenvía tal cual para pedir
+ * la página siguiente; null si no hay más.
+ */
+public record SessionPageDto(
+        List<SessionDto> sessions,
+        String nextCursor
+) {
+    public record SessionDto(
+            String sessionId,
+            String userAgent,
+            String ipAddress,
+            Instant lastUsedAt,
+            Instant expiresAt
+    ) {}
+}
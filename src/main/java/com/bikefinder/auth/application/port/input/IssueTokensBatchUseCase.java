@@ -0,0 +1,12 @@
+package com.bikefinder.auth.application.port.input;
+
+import com.bikefinder.auth.application.command.IssueTokensBatchCommand;
+import com.bikefinder.auth.application.dto.IssuedTokenDto;
+
+import java.util.function.Consumer;
+
+public interface IssueTokensBatchUseCase {
+    // Los resultados se entregan al sink por ventanas, a medida que se firman y guardan
+    // (siempre desde el thread del llamador)
+    void execute(IssueTokensBatchCommand command, Consumer<IssuedTokenDto> sink);
+}
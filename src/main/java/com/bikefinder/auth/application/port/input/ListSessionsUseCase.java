@@ -0,0 +1,8 @@
+package com.bikefinder.auth.application.port.input;
+
+import com.bikefinder.auth.application.dto.SessionPageDto;
+import com.bikefinder.auth.domain.valueobject.UserId;
+
+public interface ListSessionsUseCase {
+    SessionPageDto execute(UserId userId, String cursor, Integer limit);
+}
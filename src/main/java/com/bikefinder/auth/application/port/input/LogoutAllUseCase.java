@@ -0,0 +1,7 @@
+package com.bikefinder.auth.application.port.input;
+
+import com.bikefinder.auth.domain.valueobject.UserId;
+
+public interface LogoutAllUseCase {
+    void execute(UserId userId);
+}
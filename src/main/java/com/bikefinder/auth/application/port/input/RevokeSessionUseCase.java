@@ -0,0 +1,9 @@
+package com.bikefinder.auth.application.port.input;
+
+import com.bikefinder.auth.domain.valueobject.UserId;
+
+import java.util.UUID;
+
+public interface RevokeSessionUseCase {
+    void execute(UserId userId, UUID sessionId);
+}
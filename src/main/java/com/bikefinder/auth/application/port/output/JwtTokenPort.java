@@ -1,10 +1,21 @@
 package com.bikefinder.auth.application.port.output;
 
 import com.bikefinder.auth.domain.valueobject.UserId;
+import com.bikefinder.auth.domain.valueobject.UserStatus;
+
+import java.util.Optional;
+import java.util.concurrent.Future;
 
 public interface JwtTokenPort {
     String generateAccessToken(UserId userId, String email);
+    // Incluye roles y estado del usuario como claims (autenticación stateless)
+    String generateAccessToken(UserId userId, String email, UserStatus status);
+    // Igual que el anterior pero sin esperar la firma (emisión en lote).
+    // Lanza ServiceOverloadedException si el pool de firma está saturado
+    Future<String> submitAccessToken(UserId userId, String email, UserStatus status);
     String generateRefreshToken(UserId userId);
     boolean validateToken(String token);
     UserId extractUserId(String token);
+    // Verifica firma, expiración y tipo "access" con un único parseo
+    Optional<UserId> verifyAccessToken(String token);
 }
@@ -0,0 +1,16 @@
+package com.bikefinder.auth.application.port.output;
+
+import com.bikefinder.auth.domain.model.Credential;
+import com.bikefinder.auth.domain.valueobject.UserId;
+
+/**
+ * Estado de intentos fallidos / bloqueo del login. persisted es la credencial recién
+ * leída de la BD: se usa como punto de partida si esta instancia no tiene estado
+ * propio del usuario.
+ */
+public interface LoginAttemptPort {
+    boolean isLocked(UserId userId, Credential persisted);
+    // true si este intento dejó la cuenta bloqueada
+    boolean recordFailure(UserId userId, Credential persisted);
+    void recordSuccess(UserId userId, Credential persisted);
+}
@@ -3,4 +3,6 @@ package com.bikefinder.auth.application.port.output;
 public interface PasswordEncoderPort {
     String encode(String rawPassword);
     boolean matches(String rawPassword, String encodedPassword);
+    // true si el hash es de otro algoritmo o de menor costo que el actual (re-hashear en el login)
+    boolean needsRehash(String encodedPassword);
 }
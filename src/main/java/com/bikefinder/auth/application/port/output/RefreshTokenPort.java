@@ -2,12 +2,33 @@ package com.bikefinder.auth.application.port.output;
 
 import com.bikefinder.auth.domain.valueobject.UserId;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 public interface RefreshTokenPort {
-    String createToken(UserId userId, String familyId);
+    // Inicia una familia nueva (una por sesión/dispositivo); las rotaciones la heredan.
+    // ipAddress / userAgent: metadatos de la sesión (pueden ser null)
+    String createToken(UserId userId, String ipAddress, String userAgent);
+    // Un token (familia nueva) por usuario, insertados en un único batch; mismo orden que userIds
+    List<String> createTokens(List<UserId> userIds);
     Optional<String> validateToken(String tokenHash);
     void revokeToken(String tokenHash);
+    // Consume el token (si sigue vigente) y emite su reemplazo en la misma familia, atómicamente.
+    // Reusar un token ya rotado/revocado revoca toda su familia
+    Optional<Rotation> rotateToken(String rawToken);
     void revokeAllUserTokens(UserId userId);
     void revokeFamilyTokens(String familyId);
+    // Sesiones activas (una por familia), de la más reciente a la más antigua.
+    // cursor: nextCursor de la página anterior (null = primera página)
+    SessionPage findActiveSessions(UserId userId, String cursor, int limit);
+    // Revoca la sesión solo si pertenece al usuario; false si no existe o ya no está activa
+    boolean revokeSession(UserId userId, UUID sessionId);
+
+    record Rotation(UserId userId, String refreshToken) {}
+
+    record Session(UUID sessionId, String userAgent, String ipAddress, Instant lastUsedAt, Instant expiresAt) {}
+
+    record SessionPage(List<Session> sessions, String nextCursor) {}
 }
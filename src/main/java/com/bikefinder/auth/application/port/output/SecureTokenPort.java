@@ -0,0 +1,6 @@
+package com.bikefinder.auth.application.port.output;
+
+public interface SecureTokenPort {
+    // Token aleatorio opaco en Base64URL (entropía configurable), ej: verificación de email / reset de password
+    String generate();
+}
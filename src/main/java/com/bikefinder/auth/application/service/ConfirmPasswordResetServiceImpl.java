@@ -2,6 +2,9 @@ package com.bikefinder.auth.application.service;
 
 import com.bikefinder.auth.application.command.ConfirmPasswordResetCommand;
 import com.bikefinder.auth.application.port.input.ConfirmPasswordResetUseCase;
+import com.bikefinder.auth.application.port.output.LoginAttemptPort;
+import com.bikefinder.auth.application.port.output.PasswordEncoderPort;
+import com.bikefinder.auth.application.port.output.RefreshTokenPort;
 import com.bikefinder.auth.domain.model.User;
 import com.bikefinder.auth.domain.model.VerificationToken;
 import com.bikefinder.auth.domain.model.VerificationTokenType;
@@ -9,7 +12,6 @@ import com.bikefinder.auth.domain.repository.UserRepository;
 import com.bikefinder.auth.domain.repository.VerificationTokenRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,7 +22,9 @@ public class ConfirmPasswordResetServiceImpl implements ConfirmPasswordResetUseC
 
     private final UserRepository userRepository;
     private final VerificationTokenRepository tokenRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordEncoderPort passwordEncoder;
+    private final RefreshTokenPort refreshTokenPort;
+    private final LoginAttemptPort loginAttemptPort;
 
     @Override
     @Transactional
@@ -47,8 +51,13 @@ public class ConfirmPasswordResetServiceImpl implements ConfirmPasswordResetUseC
         String encodedPassword = passwordEncoder.encode(command.newPassword());
         user.getCredential().updatePassword(encodedPassword);
         userRepository.save(user);
+        // updatePassword() desbloquea la cuenta: también el contador en memoria del login
+        loginAttemptPort.recordSuccess(user.getId(), null);
 
-        // 4. Marcar token como usado
+        // 4. Cerrar todas las sesiones: los tokens emitidos con la password anterior dejan de valer
+        refreshTokenPort.revokeAllUserTokens(user.getId());
+
+        // 5. Marcar token como usado
         token.markAsUsed();
         tokenRepository.save(token);
 
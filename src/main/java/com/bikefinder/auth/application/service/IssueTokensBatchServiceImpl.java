@@ -0,0 +1,173 @@
+package com.bikefinder.auth.application.service;
+
+import com.bikefinder.auth.application.command.IssueTokensBatchCommand;
+import com.bikefinder.auth.application.dto.IssuedTokenDto;
+import com.bikefinder.auth.application.port.input.IssueTokensBatchUseCase;
+import com.bikefinder.auth.application.port.output.JwtTokenPort;
+import com.bikefinder.auth.application.port.output.RefreshTokenPort;
+import com.bikefinder.auth.domain.exception.DomainException;
+import com.bikefinder.auth.domain.exception.ServiceOverloadedException;
+import com.bikefinder.auth.domain.model.User;
+import com.bikefinder.auth.domain.repository.UserRepository;
+import com.bikefinder.auth.domain.valueobject.UserId;
+import com.bikefinder.auth.domain.valueobject.UserStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Emisión de tokens para muchos usuarios en una sola llamada (servicios internos:
+ * migraciones masivas, sesiones iniciadas por el sistema).
+ *
+ * 1. Un SELECT para todos los usuarios; los que no existen o no pueden recibir
+ *    tokens se entregan al sink de inmediato.
+ * 2. El resto se procesa en ventanas de token-batch-in-flight usuarios:
+ *    a. Firma de los access tokens de la ventana en el pool criptográfico (la parte
+ *       cara: RSA/EC por token), sin llenar la cola que comparte con el login.
+ *    b. Un batch JDBC con los refresh tokens de los usuarios firmados: un usuario que
+ *       no se pudo firmar no deja un refresh token vivo que nadie tiene.
+ *    c. Entrega de la ventana al sink antes de empezar la siguiente, así el llamador
+ *       recibe resultados a medida que se producen.
+ *
+ * El sink se invoca siempre desde el thread del llamador. Si falla una ventana, las
+ * anteriores ya se entregaron con sus refresh tokens guardados.
+ *
+ * No es @Transactional: cada paso usa su propia transacción corta y la firma
+ * no retiene ninguna conexión del pool.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IssueTokensBatchServiceImpl implements IssueTokensBatchUseCase {
+
+    static final String ERROR_USER_NOT_FOUND = "USER_NOT_FOUND";
+    static final String ERROR_SERVICE_OVERLOADED = "SERVICE_OVERLOADED";
+
+    private final UserRepository userRepository;
+    private final JwtTokenPort jwtTokenPort;
+    private final RefreshTokenPort refreshTokenPort;
+
+    @Value("${auth.jwt.expiration-ms}")
+    private long jwtExpirationMs;
+
+    @Value("${auth.internal.token-batch-max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${auth.internal.token-batch-in-flight:8}")
+    private int maxInFlight;
+
+    @Override
+    public void execute(IssueTokensBatchCommand command, Consumer<IssuedTokenDto> sink) {
+        List<UUID> requestedIds = List.copyOf(new LinkedHashSet<>(command.userIds()));
+        if (requestedIds.size() > maxBatchSize) {
+            throw new DomainException("El lote supera el máximo de " + maxBatchSize + " usuarios");
+        }
+        log.info("Emisión de tokens en lote para {} usuarios", requestedIds.size());
+
+        // 1. Cargar todos los usuarios en una consulta
+        Map<UUID, User> usersById = userRepository.findAllByIds(requestedIds.stream().map(UserId::new).toList())
+                .stream()
+                .collect(Collectors.toMap(u -> u.getId().value(), Function.identity()));
+
+        // Los que no existen o no pueden iniciar sesión se informan sin emitir nada
+        List<User> eligible = new ArrayList<>(usersById.size());
+        for (UUID id : requestedIds) {
+            User user = usersById.get(id);
+            if (user == null) {
+                sink.accept(IssuedTokenDto.failed(id.toString(), ERROR_USER_NOT_FOUND));
+            } else if (!canReceiveTokens(user)) {
+                sink.accept(IssuedTokenDto.failed(id.toString(), "USER_" + user.getStatus().name()));
+            } else {
+                eligible.add(user);
+            }
+        }
+
+        // 2. Firmar, guardar y entregar por ventanas
+        int issued = 0;
+        int windowSize = Math.max(1, maxInFlight);
+        for (int from = 0; from < eligible.size(); from += windowSize) {
+            issued += issueWindow(eligible.subList(from, Math.min(from + windowSize, eligible.size())), sink);
+        }
+
+        log.info("Lote emitido: {} de {} usuarios", issued, requestedIds.size());
+    }
+
+    /**
+     * Firma los access tokens de la ventana, inserta los refresh tokens de los firmados
+     * en un batch y entrega sus resultados.
+     *
+     * @return cantidad de usuarios de la ventana que recibieron tokens
+     */
+    private int issueWindow(List<User> window, Consumer<IssuedTokenDto> sink) {
+        // a. Si el pool está saturado por tráfico de login, ese usuario se informa y el lote sigue
+        List<User> submitted = new ArrayList<>(window.size());
+        List<Future<String>> futures = new ArrayList<>(window.size());
+        for (User user : window) {
+            try {
+                futures.add(jwtTokenPort.submitAccessToken(user.getId(), user.getEmail().value(), user.getStatus()));
+                submitted.add(user);
+            } catch (ServiceOverloadedException e) {
+                sink.accept(IssuedTokenDto.failed(user.getId().value().toString(), ERROR_SERVICE_OVERLOADED));
+            }
+        }
+        if (submitted.isEmpty()) {
+            return 0;
+        }
+        List<String> accessTokens = new ArrayList<>(futures.size());
+        for (Future<String> future : futures) {
+            accessTokens.add(await(future));
+        }
+
+        // b. Refresh tokens en un batch, solo para los usuarios firmados
+        List<String> refreshTokens = refreshTokenPort.createTokens(submitted.stream().map(User::getId).toList());
+
+        // c. Entregar
+        for (int i = 0; i < submitted.size(); i++) {
+            sink.accept(new IssuedTokenDto(
+                    submitted.get(i).getId().value().toString(),
+                    accessTokens.get(i),
+                    refreshTokens.get(i),
+                    "Bearer",
+                    jwtExpirationMs,
+                    Instant.now().plusMillis(jwtExpirationMs),
+                    null
+            ));
+        }
+        return submitted.size();
+    }
+
+    private static String await(Future<String> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando la firma de un token", e);
+        }
+    }
+
+    /**
+     * Misma política que el login: baneados y eliminados no reciben tokens;
+     * PENDING_VERIFICATION sí (igual que al registrarse).
+     */
+    private boolean canReceiveTokens(User user) {
+        return user.getStatus() != UserStatus.BANNED && user.getStatus() != UserStatus.DELETED;
+    }
+}
@@ -0,0 +1,50 @@
+package com.bikefinder.auth.application.service;
+
+import com.bikefinder.auth.application.dto.SessionPageDto;
+import com.bikefinder.auth.application.port.input.ListSessionsUseCase;
+import com.bikefinder.auth.application.port.output.RefreshTokenPort;
+import com.bikefinder.auth.domain.exception.DomainException;
+import com.bikefinder.auth.domain.valueobject.UserId;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Sesiones activas (familias de refresh tokens vigentes) del usuario, de la más
+ * reciente a la más antigua. Cada sesión es el último token de su familia: al rotar,
+ * el anterior queda revocado, así que lastUsedAt es la fecha del último refresh.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ListSessionsServiceImpl implements ListSessionsUseCase {
+
+    private final RefreshTokenPort refreshTokenPort;
+
+    @Value("${auth.sessions.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${auth.sessions.max-page-size:100}")
+    private int maxPageSize;
+
+    @Override
+    public SessionPageDto execute(UserId userId, String cursor, Integer limit) {
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new DomainException("limit debe estar entre 1 y " + maxPageSize);
+        }
+
+        RefreshTokenPort.SessionPage page = refreshTokenPort.findActiveSessions(userId, cursor, pageSize);
+        return new SessionPageDto(
+                page.sessions().stream()
+                        .map(s -> new SessionPageDto.SessionDto(
+                                s.sessionId().toString(),
+                                s.userAgent(),
+                                s.ipAddress(),
+                                s.lastUsedAt(),
+                                s.expiresAt()))
+                        .toList(),
+                page.nextCursor());
+    }
+}
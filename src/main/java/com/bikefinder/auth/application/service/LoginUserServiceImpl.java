@@ -11,9 +11,19 @@ import com.bikefinder.auth.domain.valueobject.Email;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
 import java.util.Map;
 
+/**
+ * Login en tres fases, sin transacción que las abarque: cada @Transactional toma una
+ * conexión de Hikari al empezar y la retiene hasta el commit, y BCrypt son ~250 ms
+ * de CPU. Con el pool de 10 conexiones, retenerla durante la verificación limitaba
+ * el login a ~40/s.
+ * 1. Lectura corta del usuario (transacción de solo lectura del repositorio).
+ * 2. Verificación de la contraseña sin ninguna conexión tomada.
+ * 3. Escritura corta de last_login_at. Los intentos fallidos y el bloqueo se llevan en
+ *    memoria (LoginAttemptPort) y se escriben diferidos, sin UPDATE por intento.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -25,13 +35,13 @@ public class LoginUserServiceImpl implements LoginUserUseCase {
     private final RefreshTokenPort refreshTokenPort;
     private final AuditLogPort auditLogPort;
     private final UserEventPort userEventPort;
+    private final LoginAttemptPort loginAttemptPort;
 
     @Override
-    @Transactional
     public AuthResponseDto execute(LoginUserCommand command) {
         log.info("Intento de login para: {}", command.email());
 
-        // 1. Buscar usuario
+        // 1. Buscar usuario (lectura corta: la conexión vuelve al pool al terminar)
         User user = userRepository.findByEmail(new Email(command.email()))
                 .orElseThrow(() -> {
                     auditLogPort.logAction(null, "LOGIN_FAILED", command.ipAddress(),
@@ -40,32 +50,35 @@ public class LoginUserServiceImpl implements LoginUserUseCase {
                 });
 
         // 2. Verificar bloqueo
-        if (user.isLocked()) {
+        if (loginAttemptPort.isLocked(user.getId(), user.getCredential())) {
             auditLogPort.logAction(user.getId(), "LOGIN_FAILED", command.ipAddress(),
                     Map.of("reason", "ACCOUNT_LOCKED"));
             throw new InvalidCredentialsException("Cuenta temporalmente bloqueada");
         }
 
-        // 3. Validar contraseña
+        // 3. Validar contraseña (sin conexión tomada)
         boolean valid = passwordEncoder.matches(command.password(), user.getCredential().getPasswordHash());
 
         if (!valid) {
-            user.failedLoginAttempt();
-            userRepository.save(user);
+            loginAttemptPort.recordFailure(user.getId(), user.getCredential());
             auditLogPort.logAction(user.getId(), "LOGIN_FAILED", command.ipAddress(),
                     Map.of("reason", "INVALID_PASSWORD"));
             throw new InvalidCredentialsException("Email o contraseña incorrectos");
         }
 
-        // 4. Login exitoso
+        // 4. Login exitoso: un UPDATE de last_login_at (el reset de intentos va diferido)
+        loginAttemptPort.recordSuccess(user.getId(), user.getCredential());
         user.successfulLogin();
-        userRepository.save(user);
+        userRepository.recordSuccessfulLogin(user.getId(), user.getLastLoginAt());
+
+        // 5. Hash de otro algoritmo o de menor costo: re-hashear ahora que tenemos la contraseña en claro
+        upgradePasswordHashIfNeeded(user, command.password());
 
-        // 5. Generar tokens
-        String accessToken = jwtTokenPort.generateAccessToken(user.getId(), user.getEmail().value());
-        String refreshToken = refreshTokenPort.createToken(user.getId(), user.getId().value().toString());
+        // 6. Generar tokens
+        String accessToken = jwtTokenPort.generateAccessToken(user.getId(), user.getEmail().value(), user.getStatus());
+        String refreshToken = refreshTokenPort.createToken(user.getId(), command.ipAddress(), command.userAgent());
 
-        // 6. Auditoría
+        // 7. Auditoría
         auditLogPort.logAction(user.getId(), "LOGIN_SUCCESS", command.ipAddress(),
                 Map.of("method", "PASSWORD"));
         userEventPort.publishUserLoggedIn(user.getId());
@@ -75,6 +88,24 @@ public class LoginUserServiceImpl implements LoginUserUseCase {
         return buildAuthResponse(user, accessToken, refreshToken);
     }
 
+    /**
+     * El re-hash nunca hace fallar el login: si no se puede, se reintenta en el próximo.
+     */
+    private void upgradePasswordHashIfNeeded(User user, String rawPassword) {
+        String currentHash = user.getCredential().getPasswordHash();
+        if (!passwordEncoder.needsRehash(currentHash)) {
+            return;
+        }
+        try {
+            String upgradedHash = passwordEncoder.encode(rawPassword);
+            if (userRepository.upgradePasswordHash(user.getId(), currentHash, upgradedHash)) {
+                log.info("Hash de password actualizado al algoritmo/costo actual para: {}", user.getId());
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudo actualizar el hash de password para {}: {}", user.getId(), e.getMessage());
+        }
+    }
+
     private AuthResponseDto buildAuthResponse(User user, String accessToken, String refreshToken) {
 
         AuthResponseDto.UserInfoDto.LocationDto location = null;
@@ -0,0 +1,33 @@
+package com.bikefinder.auth.application.service;
+
+import com.bikefinder.auth.application.port.input.LogoutAllUseCase;
+import com.bikefinder.auth.application.port.output.AuditLogPort;
+import com.bikefinder.auth.application.port.output.RefreshTokenPort;
+import com.bikefinder.auth.domain.valueobject.UserId;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Cierra la sesión en todos los dispositivos: un único UPDATE del epoch del usuario
+ * invalida sus refresh y access tokens, sin importar cuántos tenga.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LogoutAllServiceImpl implements LogoutAllUseCase {
+
+    private final RefreshTokenPort refreshTokenPort;
+    private final AuditLogPort auditLogPort;
+
+    @Override
+    @Transactional
+    public void execute(UserId userId) {
+        log.info("Logout global para usuario: {}", userId);
+        refreshTokenPort.revokeAllUserTokens(userId);
+        auditLogPort.logAction(userId, "LOGOUT_ALL", null, Map.of());
+    }
+}
@@ -21,7 +21,8 @@ public class LogoutServiceImpl implements LogoutUseCase {
     public void execute(String refreshToken, String userId) {
         log.info("Logout para usuario: {}", userId);
 
-        // Revocar token específico
+        // Revocar token específico. El access token de la sesión sigue valiendo hasta su
+        // expiración (auth.jwt.expiration-ms): para cortarlo ya está el logout global
         refreshTokenPort.revokeToken(refreshToken);
 
         // Opcional: Revocar toda la familia de tokens (logout en todos los dispositivos)
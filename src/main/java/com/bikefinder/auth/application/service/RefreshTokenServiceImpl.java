@@ -6,13 +6,12 @@ import com.bikefinder.auth.application.dto.AuthResponseDto;
 import com.bikefinder.auth.application.port.input.RefreshTokenUseCase;
 import com.bikefinder.auth.application.port.output.JwtTokenPort;
 import com.bikefinder.auth.application.port.output.RefreshTokenPort;
+import com.bikefinder.auth.domain.exception.InvalidCredentialsException;
 import com.bikefinder.auth.domain.repository.UserRepository;
 import com.bikefinder.auth.domain.valueobject.UserId;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -23,27 +22,28 @@ public class RefreshTokenServiceImpl implements RefreshTokenUseCase {
     private final JwtTokenPort jwtTokenPort;
     private final UserRepository userRepository;
 
+    /**
+     * Tres sentencias por refresh: UPDATE ... RETURNING + INSERT (rotación atómica)
+     * y un SELECT del usuario para la respuesta. Sin transacción envolvente: la
+     * rotación tiene la suya y la firma del access token no retiene conexión.
+     */
     @Override
-    @Transactional
     public AuthResponseDto execute(RefreshTokenCommand command) {
         log.info("Refrescando token");
 
-        // 1. Validar refresh token y obtener userId
-        String userIdStr = refreshTokenPort.validateToken(command.refreshToken())
-                .orElseThrow(() -> new RuntimeException("Refresh token inválido o expirado"));
+        // 1. Consumir el refresh token y emitir su reemplazo (seguro ante refresh concurrentes)
+        RefreshTokenPort.Rotation rotation = refreshTokenPort.rotateToken(command.refreshToken())
+                .orElseThrow(() -> new InvalidCredentialsException("Refresh token inválido o expirado"));
 
-        UserId userId = new UserId(UUID.fromString(userIdStr));
+        UserId userId = rotation.userId();
 
-        // 2. Verificar que el usuario existe y está activo
+        // 2. Datos del usuario para el access token y la respuesta
         var user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+                .orElseThrow(() -> new InvalidCredentialsException("Usuario no encontrado"));
 
-        // 3. Revocar token anterior (rotación)
-        refreshTokenPort.revokeToken(command.refreshToken());
-
-        // 4. Generar nuevos tokens
-        String newAccessToken = jwtTokenPort.generateAccessToken(userId, user.getEmail().value());
-        String newRefreshToken = refreshTokenPort.createToken(userId, userId.value().toString());
+        // 3. Nuevo access token
+        String newAccessToken = jwtTokenPort.generateAccessToken(userId, user.getEmail().value(), user.getStatus());
+        String newRefreshToken = rotation.refreshToken();
 
         log.info("Token refrescado para usuario: {}", userId);
 
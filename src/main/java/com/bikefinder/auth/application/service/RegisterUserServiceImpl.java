@@ -9,6 +9,7 @@ import com.bikefinder.auth.application.port.output.EmailPort;
 import com.bikefinder.auth.application.port.output.JwtTokenPort;
 import com.bikefinder.auth.application.port.output.PasswordEncoderPort;
 import com.bikefinder.auth.application.port.output.RefreshTokenPort;
+import com.bikefinder.auth.application.port.output.SecureTokenPort;
 import com.bikefinder.auth.application.port.output.UserEventPort;
 import com.bikefinder.auth.domain.exception.DomainException;
 import com.bikefinder.auth.domain.model.Credential;
@@ -26,7 +27,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.Map;
-import java.util.UUID;
 
 @Service
 @Slf4j
@@ -40,6 +40,7 @@ public class RegisterUserServiceImpl implements RegisterUserUseCase {
     private final UserEventPort userEventPort;
     private final VerificationTokenRepository tokenRepository;
     private final EmailPort emailPort;
+    private final SecureTokenPort secureTokenPort;
 
     @Value("${auth.jwt.expiration-ms}")
     private long jwtExpirationMs;
@@ -51,7 +52,8 @@ public class RegisterUserServiceImpl implements RegisterUserUseCase {
                                    AuditLogPort auditLogPort,
                                    UserEventPort userEventPort,
                                    VerificationTokenRepository tokenRepository,
-                                   EmailPort emailPort) {
+                                   EmailPort emailPort,
+                                   SecureTokenPort secureTokenPort) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtTokenPort = jwtTokenPort;
@@ -60,6 +62,7 @@ public class RegisterUserServiceImpl implements RegisterUserUseCase {
         this.userEventPort = userEventPort;
         this.tokenRepository = tokenRepository;
         this.emailPort = emailPort;
+        this.secureTokenPort = secureTokenPort;
     }
 
     @Override
@@ -89,6 +92,7 @@ public class RegisterUserServiceImpl implements RegisterUserUseCase {
         VerificationToken verificationToken = VerificationToken.create(
                 userId,
                 VerificationTokenType.EMAIL_VERIFICATION,
+                secureTokenPort.generate(),
                 1440 // 24 horas
         );
         tokenRepository.save(verificationToken);
@@ -99,8 +103,8 @@ public class RegisterUserServiceImpl implements RegisterUserUseCase {
         );
 
         // 6. Generar tokens JWT
-        String accessToken = jwtTokenPort.generateAccessToken(userId, email.value());
-        String refreshToken = refreshTokenPort.createToken(userId, UUID.randomUUID().toString());
+        String accessToken = jwtTokenPort.generateAccessToken(userId, email.value(), user.getStatus());
+        String refreshToken = refreshTokenPort.createToken(userId, command.ipAddress(), command.userAgent());
 
         // 7. Auditoría y Eventos
         auditLogPort.logAction(userId, "REGISTER", null, Map.of("email", email.value()));
@@ -3,6 +3,7 @@ package com.bikefinder.auth.application.service;
 import com.bikefinder.auth.application.command.RequestPasswordResetCommand;
 import com.bikefinder.auth.application.port.input.RequestPasswordResetUseCase;
 import com.bikefinder.auth.application.port.output.EmailPort;
+import com.bikefinder.auth.application.port.output.SecureTokenPort;
 import com.bikefinder.auth.domain.model.VerificationToken;
 import com.bikefinder.auth.domain.model.VerificationTokenType;
 import com.bikefinder.auth.domain.repository.UserRepository;
@@ -21,6 +22,7 @@ public class RequestPasswordResetServiceImpl implements RequestPasswordResetUseC
     private final UserRepository userRepository;
     private final VerificationTokenRepository tokenRepository;
     private final EmailPort emailPort;
+    private final SecureTokenPort secureTokenPort;
 
     @Override
     @Transactional
@@ -36,6 +38,7 @@ public class RequestPasswordResetServiceImpl implements RequestPasswordResetUseC
             VerificationToken token = VerificationToken.create(
                     user.getId(),
                     VerificationTokenType.PASSWORD_RESET,
+                    secureTokenPort.generate(),
                     30
             );
             tokenRepository.save(token);
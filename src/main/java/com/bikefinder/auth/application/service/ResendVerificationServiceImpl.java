@@ -3,6 +3,7 @@ package com.bikefinder.auth.application.service;
 import com.bikefinder.auth.application.command.ResendVerificationCommand;
 import com.bikefinder.auth.application.port.input.ResendVerificationUseCase;
 import com.bikefinder.auth.application.port.output.EmailPort;
+import com.bikefinder.auth.application.port.output.SecureTokenPort;
 import com.bikefinder.auth.domain.model.VerificationToken;
 import com.bikefinder.auth.domain.model.VerificationTokenType;
 import com.bikefinder.auth.domain.repository.UserRepository;
@@ -21,6 +22,7 @@ public class ResendVerificationServiceImpl implements ResendVerificationUseCase
     private final UserRepository userRepository;
     private final VerificationTokenRepository tokenRepository;
     private final EmailPort emailPort;
+    private final SecureTokenPort secureTokenPort;
 
     @Override
     @Transactional
@@ -39,6 +41,7 @@ public class ResendVerificationServiceImpl implements ResendVerificationUseCase
             VerificationToken token = VerificationToken.create(
                     user.getId(),
                     VerificationTokenType.EMAIL_VERIFICATION,
+                    secureTokenPort.generate(),
                     1440 // 24 horas
             );
             tokenRepository.save(token);
@@ -0,0 +1,33 @@
+package com.bikefinder.auth.application.service;
+
+import com.bikefinder.auth.application.port.input.RevokeSessionUseCase;
+import com.bikefinder.auth.application.port.output.AuditLogPort;
+import com.bikefinder.auth.application.port.output.RefreshTokenPort;
+import com.bikefinder.auth.domain.valueobject.UserId;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cierra una sesión remota revocando su familia de refresh tokens. Idempotente:
+ * una sesión inexistente, ajena o ya cerrada no es un error.
+ * Los access tokens ya emitidos para esa sesión siguen valiendo hasta su expiración.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RevokeSessionServiceImpl implements RevokeSessionUseCase {
+
+    private final RefreshTokenPort refreshTokenPort;
+    private final AuditLogPort auditLogPort;
+
+    @Override
+    public void execute(UserId userId, UUID sessionId) {
+        if (refreshTokenPort.revokeSession(userId, sessionId)) {
+            auditLogPort.logAction(userId, "SESSION_REVOKED", null, Map.of("sessionId", sessionId.toString()));
+        }
+    }
+}
@@ -20,7 +20,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Instant;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 @Slf4j
@@ -95,9 +94,8 @@ public class SocialLoginServiceImpl implements SocialLoginUseCase {
             }
         }
 
-        String accessToken  = jwtTokenPort.generateAccessToken(user.getId(), user.getEmail().value());
-        //String refreshToken = refreshTokenPort.createToken(user.getId(), command.userAgent()); // ← userAgent en lugar de userId
-        String refreshToken = refreshTokenPort.createToken(user.getId(), UUID.randomUUID().toString());
+        String accessToken  = jwtTokenPort.generateAccessToken(user.getId(), user.getEmail().value(), user.getStatus());
+        String refreshToken = refreshTokenPort.createToken(user.getId(), command.ipAddress(), command.userAgent());
 
         auditLogPort.logAction(user.getId(),
                 isNewUser ? "REGISTER_SOCIAL" : "LOGIN_SOCIAL",
@@ -0,0 +1,19 @@
+package com.bikefinder.auth.domain.exception;
+
+/**
+ * El cliente superó el límite de solicitudes del endpoint (por IP o por email).
+ * Se responde 429 con Retry-After.
+ */
+public class RateLimitExceededException extends ApplicationException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
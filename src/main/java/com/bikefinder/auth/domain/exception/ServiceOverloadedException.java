@@ -0,0 +1,19 @@
+package com.bikefinder.auth.domain.exception;
+
+/**
+ * El servicio rechaza la operación por falta de capacidad (ej: pool criptográfico lleno).
+ * Se responde 503 con Retry-After para que el cliente reintente más tarde.
+ */
+public class ServiceOverloadedException extends ApplicationException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
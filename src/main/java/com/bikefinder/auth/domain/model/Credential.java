@@ -4,18 +4,31 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 
 public class Credential {
-    private static final int MAX_FAILED_ATTEMPTS = 5;
-    private static final int LOCK_TIME_MINUTES = 30;
+    public static final int MAX_FAILED_ATTEMPTS = 5;
+    public static final int LOCK_TIME_MINUTES = 30;
 
     private String passwordHash;
     private int failedLoginAttempts;
     private Instant lockedUntil;
 
+    // Seguimiento de cambios para la persistencia (el bloqueo lo escribe LoginAttemptPort)
+    private boolean persisted;
+    private boolean passwordChanged;
+
     public Credential(String passwordHash) {
         this.passwordHash = passwordHash;
         this.failedLoginAttempts = 0;
     }
 
+    // Reconstrucción desde persistencia, con el estado de bloqueo guardado
+    public static Credential fromPersistence(String passwordHash, int failedLoginAttempts, Instant lockedUntil) {
+        Credential credential = new Credential(passwordHash);
+        credential.failedLoginAttempts = failedLoginAttempts;
+        credential.lockedUntil = lockedUntil;
+        credential.persisted = true;
+        return credential;
+    }
+
     // Eliminamos la dependencia de Spring Security aquí.
     // La validación del hash se hace en el UseCase comparando este hash.
     public boolean verifyPassword(String inputHash) {
@@ -34,6 +47,7 @@ public class Credential {
 
     public void updatePassword(String newPasswordHash) {
         this.passwordHash = newPasswordHash;
+        this.passwordChanged = true;
         this.failedLoginAttempts = 0;  // resetear intentos fallidos al cambiar password
         this.lockedUntil = null;        // desbloquear cuenta si estaba bloqueada
     }
@@ -66,4 +80,13 @@ public class Credential {
     //public Instant getLockedUntil() { return lockedUntil; }
     //public int getFailedLoginAttempts() { return failedLoginAttempts; }
 
+    // --- Estado de persistencia (lo usa solo el adaptador) ---
+    public boolean isPersisted() { return persisted; }
+    public boolean isPasswordChanged() { return passwordChanged; }
+
+    public void markPersisted() {
+        this.persisted = true;
+        this.passwordChanged = false;
+    }
+
 }
@@ -8,7 +8,10 @@ import com.bikefinder.auth.domain.valueobject.UserStatus;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 public class User {
@@ -30,6 +33,10 @@ public class User {
     private Instant lastLoginAt;
     private int version;
 
+    // Seguimiento de cambios para la persistencia: el adaptador escribe solo estas columnas
+    private boolean persisted;
+    private final Set<Field> changedFields = EnumSet.noneOf(Field.class);
+
     // ===== NUEVOS CAMPOS =====
     private Gender gender;
     private LocalDate birthDate;
@@ -46,6 +53,26 @@ public class User {
         PREFER_NOT_TO_SAY
     }
 
+    /**
+     * Campos persistidos que pueden cambiar después de crear el usuario.
+     */
+    public enum Field {
+        STATUS,
+        EMAIL_VERIFIED,
+        FULL_NAME,
+        AVATAR_URL,
+        PHONE_NUMBER,
+        PHONE_VERIFIED,
+        GENDER,
+        BIRTH_DATE,
+        LOCALITY_ID,
+        LOCALITY_NAME,
+        DEPARTMENT_NAME,
+        PROVINCE_NAME,
+        COUNTRY_NAME,
+        LAST_LOGIN_AT
+    }
+
     // Constructor para creación nueva
     private User(UserId id, Email email, String fullName) {
         this.id = id;
@@ -75,8 +102,8 @@ public class User {
      * Agrega/actualiza el número de teléfono
      */
     public void updatePhoneNumber(PhoneNumber phoneNumber) {
-        this.phoneNumber = phoneNumber;
-        this.phoneVerified = false;  // Requiere re-verificación
+        this.phoneNumber = track(Field.PHONE_NUMBER, this.phoneNumber, phoneNumber);
+        this.phoneVerified = track(Field.PHONE_VERIFIED, this.phoneVerified, false);  // Requiere re-verificación
     }
 
     /**
@@ -86,15 +113,15 @@ public class User {
         if (this.phoneNumber == null) {
             throw new IllegalStateException("No hay teléfono para verificar");
         }
-        this.phoneVerified = true;
+        this.phoneVerified = track(Field.PHONE_VERIFIED, this.phoneVerified, true);
     }
 
     /**
      * Elimina el teléfono asociado
      */
     public void removePhoneNumber() {
-        this.phoneNumber = null;
-        this.phoneVerified = false;
+        this.phoneNumber = track(Field.PHONE_NUMBER, this.phoneNumber, null);
+        this.phoneVerified = track(Field.PHONE_VERIFIED, this.phoneVerified, false);
     }
 
     // --- Métodos de Comportamiento (Business Logic) ---
@@ -118,7 +145,7 @@ public class User {
         if (this.status == UserStatus.BANNED) {
             throw new IllegalStateException("Usuario baneado");
         }
-        this.lastLoginAt = Instant.now();
+        this.lastLoginAt = track(Field.LAST_LOGIN_AT, this.lastLoginAt, Instant.now());
         if (this.credential != null) {
             this.credential.resetFailedAttempts();
         }
@@ -138,13 +165,13 @@ public class User {
         if (avatarUrl == null || avatarUrl.isBlank()) {
             throw new IllegalArgumentException("El avatarUrl no puede ser nulo o vacío");
         }
-        this.avatarUrl = avatarUrl;
+        this.avatarUrl = track(Field.AVATAR_URL, this.avatarUrl, avatarUrl);
     }
 
     public void verifyEmail() {
-        this.emailVerified = true;
+        this.emailVerified = track(Field.EMAIL_VERIFIED, this.emailVerified, true);
         if (this.status == UserStatus.PENDING_VERIFICATION) {
-            this.status = UserStatus.ACTIVE; // al verificar email, activar cuenta
+            this.status = track(Field.STATUS, this.status, UserStatus.ACTIVE); // al verificar email, activar cuenta
         }
     }
 
@@ -166,41 +193,69 @@ public class User {
     public Instant getLastLoginAt() { return lastLoginAt; }
 
     public Gender getGender() { return gender; }
-    public void setGender(Gender gender) { this.gender = gender; }
+    public void setGender(Gender gender) { this.gender = track(Field.GENDER, this.gender, gender); }
 
     public LocalDate getBirthDate() { return birthDate; }
-    public void setBirthDate(LocalDate birthDate) { this.birthDate = birthDate; }
+    public void setBirthDate(LocalDate birthDate) { this.birthDate = track(Field.BIRTH_DATE, this.birthDate, birthDate); }
 
     public Integer getLocalityId() { return localityId; }
-    public void setLocalityId(Integer localityId) { this.localityId = localityId; }
+    public void setLocalityId(Integer localityId) { this.localityId = track(Field.LOCALITY_ID, this.localityId, localityId); }
 
     public String getLocalityName() { return localityName; }
-    public void setLocalityName(String localityName) { this.localityName = localityName; }
+    public void setLocalityName(String localityName) { this.localityName = track(Field.LOCALITY_NAME, this.localityName, localityName); }
 
     public String getDepartmentName() { return departmentName; }
-    public void setDepartmentName(String departmentName) { this.departmentName = departmentName; }
+    public void setDepartmentName(String departmentName) { this.departmentName = track(Field.DEPARTMENT_NAME, this.departmentName, departmentName); }
 
     public String getProvinceName() { return provinceName; }
-    public void setProvinceName(String provinceName) { this.provinceName = provinceName; }
+    public void setProvinceName(String provinceName) { this.provinceName = track(Field.PROVINCE_NAME, this.provinceName, provinceName); }
 
     public String getCountryName() { return countryName; }
-    public void setCountryName(String countryName) { this.countryName = countryName; }
+    public void setCountryName(String countryName) { this.countryName = track(Field.COUNTRY_NAME, this.countryName, countryName); }
     public void setEmailVerified(boolean emailVerified) {
-        this.emailVerified = emailVerified;
+        this.emailVerified = track(Field.EMAIL_VERIFIED, this.emailVerified, emailVerified);
     }
     public PhoneNumber getPhoneNumber() { return phoneNumber; }
 
     public void setFullName(String fullName) {
-        this.fullName = fullName;
+        this.fullName = track(Field.FULL_NAME, this.fullName, fullName);
     }
 
     public void setPhoneNumber(PhoneNumber phoneNumber) {
-        this.phoneNumber = phoneNumber;
+        this.phoneNumber = track(Field.PHONE_NUMBER, this.phoneNumber, phoneNumber);
     }
 
     public void setPhoneVerified(boolean phoneVerified) {
-        this.phoneVerified = phoneVerified;
+        this.phoneVerified = track(Field.PHONE_VERIFIED, this.phoneVerified, phoneVerified);
     }
 
     public boolean isPhoneVerified() { return phoneVerified; }
+
+    // --- Estado de persistencia (lo usa solo el adaptador) ---
+
+    /**
+     * false para un usuario recién creado con register(): el adaptador lo inserta.
+     */
+    public boolean isPersisted() { return persisted; }
+    public int getVersion() { return version; }
+    public Set<Field> getChangedFields() { return Set.copyOf(changedFields); }
+
+    /**
+     * El estado actual coincide con la BD en esta versión: no quedan campos por escribir.
+     */
+    public void markPersisted(int version) {
+        this.persisted = true;
+        this.version = version;
+        this.changedFields.clear();
+        if (this.credential != null) {
+            this.credential.markPersisted();
+        }
+    }
+
+    private <T> T track(Field field, T current, T next) {
+        if (!Objects.equals(current, next)) {
+            changedFields.add(field);
+        }
+        return next;
+    }
 }
@@ -24,11 +24,13 @@ public class VerificationToken {
         this.createdAt = createdAt;
     }
 
-    public static VerificationToken create(UserId userId, VerificationTokenType type, int expirationMinutes) {
+    // token: valor opaco aleatorio (SecureTokenPort.generate())
+    public static VerificationToken create(UserId userId, VerificationTokenType type, String token,
+                                           int expirationMinutes) {
         return new VerificationToken(
                 UUID.randomUUID(),
                 userId,
-                UUID.randomUUID().toString().replace("-", ""), // token simple y único
+                token,
                 type,
                 Instant.now().plusSeconds(expirationMinutes * 60L),
                 Instant.now()
@@ -4,15 +4,24 @@ import com.bikefinder.auth.domain.model.User;
 import com.bikefinder.auth.domain.valueobject.Email;
 import com.bikefinder.auth.domain.valueobject.UserId;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository {
     Optional<User> findById(UserId id);
+    // Carga varios usuarios en una sola consulta (los ids inexistentes se omiten)
+    List<User> findAllByIds(Collection<UserId> ids);
     Optional<User> findByEmail(Email email);
     // Buscar usuario por identidad social (Proveedor + UID)
     Optional<User> findBySocialIdentity(String provider, String providerUid);
 
     User save(User user);
+    // Escrituras puntuales del login (sin leer ni recargar el usuario)
+    void recordSuccessfulLogin(UserId id, Instant loginAt);
+    // Reemplaza el hash solo si sigue siendo currentHash (no pisa un cambio de password concurrente)
+    boolean upgradePasswordHash(UserId id, String currentHash, String upgradedHash);
     void deleteById(UserId id);
 
     boolean existsByEmail(Email email);
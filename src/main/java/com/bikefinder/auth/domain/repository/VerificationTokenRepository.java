@@ -8,6 +8,5 @@ import java.util.Optional;
 public interface VerificationTokenRepository {
     VerificationToken save(VerificationToken token);
     Optional<VerificationToken> findByToken(String token);
-    void deleteExpiredTokens();
     void deleteByUserIdAndType(UserId userId, VerificationTokenType type);
 }
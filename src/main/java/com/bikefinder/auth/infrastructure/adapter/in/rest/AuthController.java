@@ -2,14 +2,19 @@ package com.bikefinder.auth.infrastructure.adapter.in.rest;
 
 import com.bikefinder.auth.application.command.*;
 import com.bikefinder.auth.application.dto.AuthResponseDto;
+import com.bikefinder.auth.application.dto.SessionPageDto;
 import com.bikefinder.auth.application.port.input.*;
 import com.bikefinder.auth.application.port.output.JwtTokenPort;
+import com.bikefinder.auth.domain.exception.InvalidCredentialsException;
 import com.bikefinder.auth.domain.valueobject.UserId;
 import com.bikefinder.auth.infrastructure.adapter.in.rest.dto.LoginRequestDto;
 import com.bikefinder.auth.infrastructure.adapter.in.rest.dto.LogoutRequestDto;
 import com.bikefinder.auth.infrastructure.adapter.in.rest.dto.RefreshTokenRequestDto;
 import com.bikefinder.auth.infrastructure.adapter.in.rest.dto.RegisterRequestDto;
 import com.bikefinder.auth.infrastructure.adapter.in.rest.dto.UpdateProfileRequestDto;
+import com.bikefinder.auth.infrastructure.security.ratelimit.RateLimitedEndpoint;
+import com.bikefinder.auth.infrastructure.security.ratelimit.RateLimiter;
+import com.bikefinder.auth.infrastructure.security.util.ClientIpUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
@@ -33,21 +38,30 @@ public class AuthController {
     private final LoginUserUseCase loginUserUseCase;
     private final RefreshTokenUseCase refreshTokenUseCase;
     private final LogoutUseCase logoutUseCase;
+    private final LogoutAllUseCase logoutAllUseCase;
     private final GetUserProfileUseCase getUserProfileUseCase;
     private final UpdateUserProfileUseCase updateUserProfileUseCase;
+    private final ListSessionsUseCase listSessionsUseCase;
+    private final RevokeSessionUseCase revokeSessionUseCase;
     private final JwtTokenPort jwtTokenPort;
+    private final RateLimiter rateLimiter;
 
     @PostMapping("/register")
     @Operation(summary = "Registrar nuevo usuario", description = "Crea una cuenta con email y contraseña")
     public ResponseEntity<AuthResponseDto> register(
-            @Valid @RequestBody RegisterRequestDto request) {
+            @Valid @RequestBody RegisterRequestDto request,
+            HttpServletRequest httpRequest) {
 
         log.info("Solicitud de registro para: {}", request.email());
+        String clientIp = ClientIpUtil.resolve(httpRequest);
+        rateLimiter.check(RateLimitedEndpoint.REGISTER, clientIp, request.email());
 
         RegisterUserCommand command = new RegisterUserCommand(
                 request.email(),
                 request.password(),
-                request.fullName()
+                request.fullName(),
+                clientIp,
+                httpRequest.getHeader("User-Agent")
         );
 
         AuthResponseDto response = registerUserUseCase.execute(command);
@@ -61,11 +75,13 @@ public class AuthController {
             HttpServletRequest httpRequest) {
 
         log.info("Solicitud de login para: {}", request.email());
+        String clientIp = ClientIpUtil.resolve(httpRequest);
+        rateLimiter.check(RateLimitedEndpoint.LOGIN, clientIp, request.email());
 
         LoginUserCommand command = new LoginUserCommand(
                 request.email(),
                 request.password(),
-                getClientIp(httpRequest),
+                clientIp,
                 httpRequest.getHeader("User-Agent")
         );
 
@@ -98,13 +114,29 @@ public class AuthController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/logout-all")
+    @Operation(summary = "Cerrar sesión en todos los dispositivos", description = "Invalida todos los tokens emitidos hasta ahora")
+    public ResponseEntity<Void> logoutAll(
+            @RequestHeader("Authorization") String authHeader) {
+
+        String token = authHeader.replace("Bearer ", "");
+        UserId userId = jwtTokenPort.verifyAccessToken(token)
+                .orElseThrow(() -> new InvalidCredentialsException("Token inválido o expirado"));
+
+        log.info("Solicitud de logout global para usuario: {}", userId);
+
+        logoutAllUseCase.execute(userId);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/me")
     @Operation(summary = "Obtener perfil", description = "Retorna los datos del usuario autenticado")
     public ResponseEntity<AuthResponseDto.UserInfoDto> me(
             @RequestHeader("Authorization") String authHeader) {
 
         String token = authHeader.replace("Bearer ", "");
-        UserId userId = jwtTokenPort.extractUserId(token);
+        UserId userId = jwtTokenPort.verifyAccessToken(token)
+                .orElseThrow(() -> new InvalidCredentialsException("Token inválido o expirado"));
 
         log.info("Obteniendo perfil para usuario: {}", userId);
         AuthResponseDto.UserInfoDto profile = getUserProfileUseCase.execute(userId);
@@ -118,7 +150,8 @@ public class AuthController {
             @Valid @RequestBody UpdateProfileRequestDto request) {
 
         String token = authHeader.replace("Bearer ", "");
-        UserId userId = jwtTokenPort.extractUserId(token);
+        UserId userId = jwtTokenPort.verifyAccessToken(token)
+                .orElseThrow(() -> new InvalidCredentialsException("Token inválido o expirado"));
 
         log.info("Actualizando perfil para usuario: {}", userId);
 
@@ -126,11 +159,32 @@ public class AuthController {
         return ResponseEntity.ok(profile);
     }
 
-    private String getClientIp(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        return request.getRemoteAddr();
+    @GetMapping("/sessions")
+    @Operation(summary = "Listar sesiones", description = "Sesiones activas del usuario autenticado, paginadas por cursor")
+    public ResponseEntity<SessionPageDto> sessions(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        String token = authHeader.replace("Bearer ", "");
+        UserId userId = jwtTokenPort.verifyAccessToken(token)
+                .orElseThrow(() -> new InvalidCredentialsException("Token inválido o expirado"));
+
+        return ResponseEntity.ok(listSessionsUseCase.execute(userId, cursor, limit));
+    }
+
+    @DeleteMapping("/sessions/{sessionId}")
+    @Operation(summary = "Cerrar sesión remota", description = "Revoca una sesión del usuario autenticado (idempotente)")
+    public ResponseEntity<Void> revokeSession(
+            @RequestHeader("Authorization") String authHeader,
+            @PathVariable UUID sessionId) {
+
+        String token = authHeader.replace("Bearer ", "");
+        UserId userId = jwtTokenPort.verifyAccessToken(token)
+                .orElseThrow(() -> new InvalidCredentialsException("Token inválido o expirado"));
+
+        log.info("Revocando sesión {} para usuario: {}", sessionId, userId);
+        revokeSessionUseCase.execute(userId, sessionId);
+        return ResponseEntity.noContent().build();
     }
 }
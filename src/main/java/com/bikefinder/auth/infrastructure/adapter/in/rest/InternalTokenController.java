@@ -0,0 +1,105 @@
+package com.bikefinder.auth.infrastructure.adapter.in.rest;
+
+import com.bikefinder.auth.application.command.IssueTokensBatchCommand;
+import com.bikefinder.auth.application.dto.IssuedTokenDto;
+import com.bikefinder.auth.application.port.input.IssueTokensBatchUseCase;
+import com.bikefinder.auth.domain.exception.InvalidCredentialsException;
+import com.bikefinder.auth.infrastructure.adapter.in.rest.dto.IssueTokensBatchRequestDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Endpoints para servicios internos de confianza (no expuestos por el Gateway).
+ * Se autentican con la clave compartida auth.internal.api-key en el header
+ * X-Internal-Api-Key; si la clave no está configurada, los endpoints quedan deshabilitados.
+ */
+@RestController
+@RequestMapping("/internal")
+@RequiredArgsConstructor
+@Slf4j
+@Hidden // No mostrar en Swagger (uso interno entre servicios)
+public class InternalTokenController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final IssueTokensBatchUseCase issueTokensBatchUseCase;
+    private final ObjectMapper objectMapper;
+
+    @Value("${auth.internal.api-key:}")
+    private String internalApiKey;
+
+    /**
+     * Emite access + refresh token para cada usuario del lote. La respuesta es NDJSON
+     * (un IssuedTokenDto por línea). Las líneas se envían por ventanas de
+     * auth.internal.token-batch-in-flight usuarios, a medida que se firman y se guardan
+     * sus refresh tokens, así el llamador puede procesar resultados sin esperar al lote completo.
+     */
+    @PostMapping("/tokens/batch")
+    public void issueTokens(
+            @RequestHeader(value = "X-Internal-Api-Key", required = false) String apiKey,
+            @Valid @RequestBody IssueTokensBatchRequestDto request,
+            HttpServletResponse response) throws IOException {
+
+        requireInternalCaller(apiKey);
+        log.info("Solicitud interna de emisión en lote: {} usuarios", request.userIds().size());
+
+        NdjsonWriter writer = new NdjsonWriter(response);
+        issueTokensBatchUseCase.execute(new IssueTokensBatchCommand(request.userIds()), writer::write);
+    }
+
+    /**
+     * Escribe y envía una línea por resultado (el caso de uso lo invoca desde el thread
+     * del request). El Content-Type se fija recién con la primera línea: si el caso de uso
+     * falla antes, GlobalExceptionHandler todavía puede responder el error como JSON.
+     */
+    private final class NdjsonWriter {
+
+        private final HttpServletResponse response;
+        private ServletOutputStream out;
+
+        private NdjsonWriter(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        void write(IssuedTokenDto result) {
+            try {
+                byte[] line = objectMapper.writeValueAsBytes(result);
+                if (out == null) {
+                    response.setContentType(NDJSON);
+                    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                    out = response.getOutputStream();
+                }
+                out.write(line);
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error al escribir el resultado del lote", e);
+            }
+        }
+    }
+
+    private void requireInternalCaller(String apiKey) {
+        if (internalApiKey.isBlank() || apiKey == null
+                || !MessageDigest.isEqual(
+                        internalApiKey.getBytes(StandardCharsets.UTF_8),
+                        apiKey.getBytes(StandardCharsets.UTF_8))) {
+            throw new InvalidCredentialsException("Clave de servicio interno inválida");
+        }
+    }
+}
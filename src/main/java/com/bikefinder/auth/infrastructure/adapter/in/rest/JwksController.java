@@ -1,33 +1,157 @@
 package com.bikefinder.auth.infrastructure.adapter.in.rest;
 
-import com.bikefinder.auth.infrastructure.security.jwt.JwtProvider;
+import com.bikefinder.auth.infrastructure.security.jwt.JwtKeyring;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
 import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Base64URL;
 import io.swagger.v3.oas.annotations.Hidden;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
 import java.security.interfaces.RSAPublicKey;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequiredArgsConstructor
 @Hidden // No mostrar en Swagger (es endpoint técnico)
 public class JwksController {
 
-    private final JwtProvider jwtProvider;
+    /**
+     * Longitud de una clave pública Ed25519 en bruto (RFC 8037).
+     * El encoding X.509 de la JDK es un prefijo fijo de 12 bytes + estos 32 bytes.
+     */
+    private static final int ED25519_KEY_LENGTH = 32;
+
+    private final JwtKeyring keyring;
+
+    @Value("${auth.jwks.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    /**
+     * Documento JWKS ya serializado para una versión del keyring.
+     * Se reconstruye solo cuando el keyring cambia; el resto de los requests
+     * devuelven siempre el mismo byte[] sin construir JWKs ni serializar JSON.
+     */
+    private record JwksDocument(long keyringVersion, byte[] body, String etag) {}
+
+    private volatile JwksDocument document;
 
     @GetMapping("/.well-known/jwks.json")
-    public Map<String, Object> getJwks() throws Exception {
-        // Obtener la clave pública del JwtProvider
-        RSAPublicKey publicKey = (RSAPublicKey) jwtProvider.getPublicKey();
+    public ResponseEntity<byte[]> getJwks(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        JwksDocument current = currentDocument();
+        CacheControl cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic();
+
+        // Gateways y servicios que ya tienen la versión actual reciben 304 sin body
+        if (matches(ifNoneMatch, current.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(current.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(current.etag())
+                .cacheControl(cacheControl)
+                .body(current.body());
+    }
 
-        RSAKey rsaKey = new RSAKey.Builder(publicKey)
-                .keyID(jwtProvider.getKeyId())
-                .build();
+    private JwksDocument currentDocument() {
+        JwksDocument current = document;
+        long version = keyring.version();
+        if (current == null || current.keyringVersion() != version) {
+            current = buildDocument(version);
+            document = current;
+        }
+        return current;
+    }
+
+    private JwksDocument buildDocument(long version) {
+        // Publicar todas las claves vigentes del keyring (activa + solo verificación),
+        // cada una con el tipo de JWK que corresponde a su algoritmo
+        List<JWK> jwks = keyring.publishedKeys().stream()
+                .map(JwksController::toPublicJwk)
+                .toList();
+
+        byte[] body = new JWKSet(jwks).toString(true).getBytes(StandardCharsets.UTF_8);
+        return new JwksDocument(version, body, strongEtag(body));
+    }
+
+    private static String strongEtag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * If-None-Match puede traer "*", una lista separada por comas o ETags débiles (W/"...").
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        JWKSet jwkSet = new JWKSet(rsaKey);
-        return jwkSet.toJSONObject();
+    private static JWK toPublicJwk(JwtKeyring.JwtKey key) {
+        String keyId = key.keyId();
+        PublicKey publicKey = key.publicKey();
+        return switch (key.algorithm()) {
+            case RS256 -> new RSAKey.Builder((RSAPublicKey) publicKey)
+                    .keyID(keyId)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.RS256)
+                    .build();
+            case ES256 -> new ECKey.Builder(Curve.P_256, (ECPublicKey) publicKey)
+                    .keyID(keyId)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.ES256)
+                    .build();
+            case EdDSA -> {
+                byte[] encoded = publicKey.getEncoded();
+                byte[] raw = Arrays.copyOfRange(encoded, encoded.length - ED25519_KEY_LENGTH, encoded.length);
+                yield new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(raw))
+                        .keyID(keyId)
+                        .keyUse(KeyUse.SIGNATURE)
+                        .algorithm(JWSAlgorithm.EdDSA)
+                        .build();
+            }
+        };
     }
 }
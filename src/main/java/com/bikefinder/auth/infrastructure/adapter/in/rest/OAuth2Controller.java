@@ -5,6 +5,7 @@ import com.bikefinder.auth.application.dto.AuthResponseDto;
 import com.bikefinder.auth.application.port.input.SocialLoginUseCase;
 import com.bikefinder.auth.infrastructure.adapter.in.rest.dto.SocialTokenRequestDto;
 import com.bikefinder.auth.infrastructure.security.oauth2.SocialTokenValidator;
+import com.bikefinder.auth.infrastructure.security.util.ClientIpUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
@@ -59,7 +60,7 @@ public class OAuth2Controller {
                 name,
                 picture,
                 null,
-                getClientIp(request),
+                ClientIpUtil.resolve(request),
                 request.getHeader("User-Agent"),
                 oauth2User.getAttributes()
         );
@@ -89,7 +90,7 @@ public class OAuth2Controller {
                 (String) claims.get("name"),
                 (String) claims.get("picture"),
                 null,
-                getClientIp(httpRequest),
+                ClientIpUtil.resolve(httpRequest),
                 httpRequest.getHeader("User-Agent"),
                 claims
         );
@@ -98,12 +99,4 @@ public class OAuth2Controller {
         return ResponseEntity.ok(response);
     }
 
-    private String getClientIp(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        return request.getRemoteAddr();
-    }
-
 }
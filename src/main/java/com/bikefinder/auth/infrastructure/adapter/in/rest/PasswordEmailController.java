@@ -3,8 +3,12 @@ package com.bikefinder.auth.infrastructure.adapter.in.rest;
 import com.bikefinder.auth.application.command.*;
 import com.bikefinder.auth.application.port.input.*;
 import com.bikefinder.auth.infrastructure.adapter.in.rest.dto.*;
+import com.bikefinder.auth.infrastructure.security.ratelimit.RateLimitedEndpoint;
+import com.bikefinder.auth.infrastructure.security.ratelimit.RateLimiter;
+import com.bikefinder.auth.infrastructure.security.util.ClientIpUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +26,7 @@ public class PasswordEmailController {
     private final ConfirmPasswordResetUseCase confirmPasswordResetUseCase;
     private final VerifyEmailUseCase verifyEmailUseCase;
     private final ResendVerificationUseCase resendVerificationUseCase;
+    private final RateLimiter rateLimiter;
 
     @PostMapping("/reset-password/request")
     @Operation(
@@ -29,9 +34,11 @@ public class PasswordEmailController {
             description = "Envía un email con link para resetear la contraseña. Siempre responde 200 aunque el email no exista."
     )
     public ResponseEntity<Void> requestPasswordReset(
-            @Valid @RequestBody RequestPasswordResetDto request) {
+            @Valid @RequestBody RequestPasswordResetDto request,
+            HttpServletRequest httpRequest) {
 
         log.info("Solicitud de reset de password para: {}", request.email());
+        rateLimiter.check(RateLimitedEndpoint.PASSWORD_RESET, ClientIpUtil.resolve(httpRequest), request.email());
         requestPasswordResetUseCase.execute(new RequestPasswordResetCommand(request.email()));
         return ResponseEntity.ok().build();
     }
@@ -42,9 +49,11 @@ public class PasswordEmailController {
             description = "Confirma el reset de contraseña usando el token recibido por email"
     )
     public ResponseEntity<Void> confirmPasswordReset(
-            @Valid @RequestBody ConfirmPasswordResetDto request) {
+            @Valid @RequestBody ConfirmPasswordResetDto request,
+            HttpServletRequest httpRequest) {
 
         log.info("Confirmación de reset de password");
+        rateLimiter.check(RateLimitedEndpoint.PASSWORD_RESET_CONFIRM, ClientIpUtil.resolve(httpRequest), null);
         confirmPasswordResetUseCase.execute(
                 new ConfirmPasswordResetCommand(request.token(), request.newPassword())
         );
@@ -70,9 +79,11 @@ public class PasswordEmailController {
             description = "Reenvía el email de verificación al usuario"
     )
     public ResponseEntity<Void> resendVerification(
-            @Valid @RequestBody ResendVerificationDto request) {
+            @Valid @RequestBody ResendVerificationDto request,
+            HttpServletRequest httpRequest) {
 
         log.info("Reenvío de verificación para: {}", request.email());
+        rateLimiter.check(RateLimitedEndpoint.RESEND_VERIFICATION, ClientIpUtil.resolve(httpRequest), request.email());
         resendVerificationUseCase.execute(new ResendVerificationCommand(request.email()));
         return ResponseEntity.ok().build();
     }
@@ -0,0 +1,10 @@
+package com.bikefinder.auth.infrastructure.adapter.in.rest.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+import java.util.UUID;
+
+public record IssueTokensBatchRequestDto(
+        @NotEmpty List<UUID> userIds
+) {}
@@ -3,10 +3,14 @@ package com.bikefinder.auth.infrastructure.adapter.in.rest.handler;
 import com.bikefinder.auth.domain.exception.ApplicationException;
 import com.bikefinder.auth.domain.exception.DomainException;
 import com.bikefinder.auth.domain.exception.InvalidCredentialsException;
+import com.bikefinder.auth.domain.exception.RateLimitExceededException;
+import com.bikefinder.auth.domain.exception.ServiceOverloadedException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.authentication.LockedException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -45,6 +49,42 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponseDto(423, "ACCOUNT_LOCKED", ex.getMessage(), Instant.now()));
     }
 
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponseDto> handleServiceOverloaded(
+            ServiceOverloadedException ex, HttpServletRequest request) {
+        // Sin stack trace: es un rechazo esperado bajo carga, no un error
+        log.warn("=== SERVICE OVERLOADED === Path: {}", request.getRequestURI());
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ErrorResponseDto(503, "SERVICE_OVERLOADED", ex.getMessage(), Instant.now()));
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponseDto> handleRateLimitExceeded(
+            RateLimitExceededException ex, HttpServletRequest request) {
+        // Sin stack trace: rechazo esperado, puede haber miles por segundo bajo abuso
+        log.warn("=== RATE LIMITED === Path: {}", request.getRequestURI());
+
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ErrorResponseDto(429, "RATE_LIMITED", ex.getMessage(), Instant.now()));
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDto> handleOptimisticLockingFailure(
+            ObjectOptimisticLockingFailureException ex, HttpServletRequest request) {
+        // Otra escritura modificó el usuario entre la lectura y el UPDATE: el cliente reintenta
+        log.warn("=== CONCURRENT MODIFICATION === Path: {}", request.getRequestURI());
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ErrorResponseDto(409, "CONCURRENT_MODIFICATION",
+                        "El recurso fue modificado por otra solicitud. Reintente la operación", Instant.now()));
+    }
+
     @ExceptionHandler(DomainException.class)
     public ResponseEntity<ErrorResponseDto> handleDomainException(
             DomainException ex, HttpServletRequest request) {
@@ -1,5 +1,6 @@
 package com.bikefinder.auth.infrastructure.persistence.adapter;
 
+import com.bikefinder.auth.domain.model.Credential;
 import com.bikefinder.auth.domain.model.User;
 import com.bikefinder.auth.domain.repository.UserRepository;
 import com.bikefinder.auth.domain.valueobject.Email;
@@ -9,12 +10,22 @@ import com.bikefinder.auth.infrastructure.persistence.entity.UserEntity;
 import com.bikefinder.auth.infrastructure.persistence.mapper.CredentialMapper;
 import com.bikefinder.auth.infrastructure.persistence.mapper.UserMapperManual;
 import com.bikefinder.auth.infrastructure.persistence.repository.JpaUserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 @Repository
 @RequiredArgsConstructor
@@ -24,10 +35,22 @@ public class UserRepositoryImpl implements UserRepository {
     private final JpaUserRepository jpaRepository;
     private final UserMapperManual userMapper;
     private final CredentialMapper credentialMapper;
+    private final EntityManager entityManager;
 
     @Override
     public Optional<User> findById(UserId id) {
-        return jpaRepository.findById(id.value()).map(userMapper::toDomain);
+        return jpaRepository.findWithCredentialById(id.value()).map(userMapper::toDomain);
+    }
+
+    @Override
+    public List<User> findAllByIds(Collection<UserId> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> uuids = ids.stream().map(UserId::value).toList();
+        return jpaRepository.findAllWithCredentialByIdIn(uuids).stream()
+                .map(userMapper::toDomain)
+                .toList();
     }
 
     @Override
@@ -48,62 +71,125 @@ public class UserRepositoryImpl implements UserRepository {
         return jpaRepository.findBySocialIdentity(provider, providerUid).map(userMapper::toDomain);
     }
 
+    /**
+     * Un usuario nuevo se inserta (persist, sin SELECT previo). Uno ya persistido se
+     * actualiza con un único UPDATE de las columnas que cambiaron desde que se cargó,
+     * condicionado a su versión (@Version): si otra escritura la movió, falla con
+     * ObjectOptimisticLockingFailureException. Sin cambios no hay ninguna sentencia.
+     * Devuelve el mismo agregado, sin recargarlo.
+     */
     @Override
     @Transactional
     public User save(User user) {
-        log.info("Guardando usuario: {}", user.getId().value());
+        if (!user.isPersisted()) {
+            insert(user);
+            user.markPersisted(0);
+            return user;
+        }
+
+        UUID id = user.getId().value();
+        Credential credential = user.getCredential();
+        boolean newCredential = credential != null && !credential.isPersisted();
+        boolean passwordChanged = credential != null && credential.isPersisted() && credential.isPasswordChanged();
+        Set<User.Field> changed = user.getChangedFields();
+        if (changed.isEmpty() && !newCredential && !passwordChanged) {
+            return user;
+        }
+
+        // La versión es la del agregado: un cambio de credencial también la incrementa
+        Instant now = Instant.now();
+        StringBuilder jpql = new StringBuilder("UPDATE VERSIONED UserEntity u SET u.updatedAt = :now");
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (User.Field field : changed) {
+            String attribute = attribute(field);
+            jpql.append(", u.").append(attribute).append(" = :").append(attribute);
+            values.put(attribute, value(user, field));
+        }
+        jpql.append(" WHERE u.id = :id AND u.version = :version");
+
+        Query update = entityManager.createQuery(jpql.toString())
+                .setParameter("now", now)
+                .setParameter("id", id)
+                .setParameter("version", user.getVersion());
+        values.forEach(update::setParameter);
+        if (update.executeUpdate() == 0) {
+            throw new ObjectOptimisticLockingFailureException(UserEntity.class, id);
+        }
+
+        if (newCredential) {
+            CredentialEntity credEntity = credentialMapper.toEntity(credential);
+            credEntity.setUser(entityManager.getReference(UserEntity.class, id));
+            credEntity.setUserId(id);
+            entityManager.persist(credEntity);
+        } else if (passwordChanged) {
+            jpaRepository.updatePassword(id, credential.getPasswordHash(), now);
+        }
+
+        user.markPersisted(user.getVersion() + 1);
+        return user;
+    }
 
-        // ✅ CASO 1: Usuario NUEVO (sin ID persistente o sin credential en BD)
+    private void insert(User user) {
+        UserEntity entity = userMapper.toEntity(user);
         if (user.getCredential() != null) {
-            // Verificar si ya existe en BD
-            Optional<UserEntity> existingOpt = jpaRepository.findById(user.getId().value());
-
-            if (existingOpt.isPresent()) {
-                // ✅ CASO 2: Usuario EXISTENTE, solo actualizar credential
-                log.info("Usuario existe, actualizando credential");
-                UserEntity existingUser = existingOpt.get();
-
-                CredentialEntity credEntity = credentialMapper.toEntity(user.getCredential());
-                credEntity.setUser(existingUser);
-                credEntity.setUserId(existingUser.getId());
-                existingUser.setCredential(credEntity);
-
-                jpaRepository.save(existingUser);
-
-                // Recargar para asegurar que todo está cargado
-                UserEntity reloaded = jpaRepository.findById(existingUser.getId())
-                        .orElseThrow(() -> new RuntimeException("Usuario no encontrado después de guardar"));
-
-                return userMapper.toDomain(reloaded);
-            } else {
-                // ✅ CASO 1: Usuario NUEVO, guardar todo
-                log.info("Usuario nuevo, guardando desde cero");
-                UserEntity entity = userMapper.toEntity(user);
-
-                CredentialEntity credEntity = credentialMapper.toEntity(user.getCredential());
-                credEntity.setUser(entity);
-                credEntity.setUserId(entity.getId());
-                entity.setCredential(credEntity);
-
-                jpaRepository.save(entity);
-
-                // Recargar
-                UserEntity reloaded = jpaRepository.findById(entity.getId())
-                        .orElseThrow(() -> new RuntimeException("Usuario no encontrado después de guardar"));
-
-                return userMapper.toDomain(reloaded);
-            }
-        } else {
-            // ✅ CASO 3: Usuario sin credential (solo datos básicos)
-            log.info("Guardando usuario sin credential");
-            UserEntity entity = userMapper.toEntity(user);
-            jpaRepository.save(entity);
-
-            UserEntity reloaded = jpaRepository.findById(entity.getId())
-                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado después de guardar"));
-
-            return userMapper.toDomain(reloaded);
+            CredentialEntity credEntity = credentialMapper.toEntity(user.getCredential());
+            credEntity.setUser(entity);
+            credEntity.setUserId(entity.getId());
+            entity.setCredential(credEntity);
         }
+        // version null => Spring Data lo trata como nuevo: persist, sin SELECT previo
+        jpaRepository.save(entity);
+        log.info("Usuario nuevo guardado: {}", entity.getId());
+    }
+
+    private static String attribute(User.Field field) {
+        return switch (field) {
+            case STATUS -> "status";
+            case EMAIL_VERIFIED -> "emailVerified";
+            case FULL_NAME -> "fullName";
+            case AVATAR_URL -> "avatarUrl";
+            case PHONE_NUMBER -> "phoneNumber";
+            case PHONE_VERIFIED -> "phoneVerified";
+            case GENDER -> "gender";
+            case BIRTH_DATE -> "birthDate";
+            case LOCALITY_ID -> "localityId";
+            case LOCALITY_NAME -> "localityName";
+            case DEPARTMENT_NAME -> "departmentName";
+            case PROVINCE_NAME -> "provinceName";
+            case COUNTRY_NAME -> "countryName";
+            case LAST_LOGIN_AT -> "lastLoginAt";
+        };
+    }
+
+    private static Object value(User user, User.Field field) {
+        return switch (field) {
+            case STATUS -> user.getStatus();
+            case EMAIL_VERIFIED -> user.isEmailVerified();
+            case FULL_NAME -> user.getFullName();
+            case AVATAR_URL -> user.getAvatarUrl();
+            case PHONE_NUMBER -> user.getPhoneNumber() != null ? user.getPhoneNumber().getValue() : null;
+            case PHONE_VERIFIED -> user.isPhoneVerified();
+            case GENDER -> user.getGender() != null ? UserEntity.Gender.valueOf(user.getGender().name()) : null;
+            case BIRTH_DATE -> user.getBirthDate();
+            case LOCALITY_ID -> user.getLocalityId();
+            case LOCALITY_NAME -> user.getLocalityName();
+            case DEPARTMENT_NAME -> user.getDepartmentName();
+            case PROVINCE_NAME -> user.getProvinceName();
+            case COUNTRY_NAME -> user.getCountryName();
+            case LAST_LOGIN_AT -> user.getLastLoginAt();
+        };
+    }
+
+    @Override
+    @Transactional
+    public void recordSuccessfulLogin(UserId id, Instant loginAt) {
+        jpaRepository.updateLastLoginAt(id.value(), loginAt);
+    }
+
+    @Override
+    @Transactional
+    public boolean upgradePasswordHash(UserId id, String currentHash, String upgradedHash) {
+        return jpaRepository.replacePasswordHash(id.value(), currentHash, upgradedHash, Instant.now()) > 0;
     }
 
     @Override
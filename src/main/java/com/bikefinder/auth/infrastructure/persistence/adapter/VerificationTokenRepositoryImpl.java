@@ -12,7 +12,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
 import java.util.Optional;
 
 @Repository
@@ -36,13 +35,6 @@ public class VerificationTokenRepositoryImpl implements VerificationTokenReposit
         return jpaRepository.findByToken(token).map(mapper::toDomain);
     }
 
-    @Override
-    @Transactional
-    public void deleteExpiredTokens() {
-        jpaRepository.deleteExpired(Instant.now());
-        log.info("Tokens expirados eliminados");
-    }
-
     @Override
     @Transactional
     public void deleteByUserIdAndType(UserId userId, VerificationTokenType type) {
@@ -22,8 +22,9 @@ public class RefreshTokenEntity {
     @JoinColumn(name = "user_id", nullable = false)
     private UserEntity user;
 
+    // SHA-256 binario (32 bytes, bytea): ver TokenHashUtil.hashBytes
     @Column(name = "token_hash", nullable = false)
-    private String tokenHash;
+    private byte[] tokenHash;
 
     @Column(name = "family_id")
     private UUID familyId;
@@ -40,6 +41,13 @@ public class RefreshTokenEntity {
     @Column(name = "used_at")
     private Instant usedAt;
 
+    // Metadatos de la sesión, capturados en el login y heredados por las rotaciones
+    @Column(name = "user_agent", length = 512)
+    private String userAgent;
+
+    @Column(name = "ip_address", length = 64)
+    private String ipAddress;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = Instant.now();
@@ -77,6 +77,10 @@ public class UserEntity {
     @Column(name = "last_login_at")
     private Instant lastLoginAt;
 
+    // Solo lectura: lo escribe TokenEpochRegistry con un UPDATE propio, nunca el save() del usuario
+    @Column(name = "tokens_valid_after", insertable = false, updatable = false)
+    private Instant tokensValidAfter;
+
     @Version // Esto mapea tu columna "version" int4 para control de concurrencia
     private Integer version;
 
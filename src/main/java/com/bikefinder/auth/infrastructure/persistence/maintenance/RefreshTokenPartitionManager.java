@@ -0,0 +1,157 @@
+package com.bikefinder.auth.infrastructure.persistence.maintenance;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Mantiene las particiones diarias de auth.refresh_tokens (RANGE sobre expires_at, ver V26).
+ *
+ * - Crea por adelantado las particiones de los próximos premake-days días: un INSERT
+ *   cuyo expires_at no cae en ninguna partición falla, así que siempre debe haber
+ *   cobertura más allá del TTL del refresh token (7 días).
+ * - Elimina con DROP TABLE las particiones cuyo rango terminó hace más de retention-days:
+ *   todos sus tokens ya expiraron. Es O(1), sin DELETE fila a fila ni trabajo para VACUUM.
+ *
+ * Con varias réplicas, solo una trabaja por ejecución (pg_try_advisory_xact_lock);
+ * las demás ven el lock tomado y no hacen nada. Si la tabla no está particionada
+ * (migración V26 sin aplicar), no hace nada.
+ *
+ * Particiones: auth.refresh_tokens_pYYYYMMDD = [día 00:00 UTC, día siguiente 00:00 UTC).
+ */
+@Component
+@Slf4j
+public class RefreshTokenPartitionManager {
+
+    private static final String PARENT_TABLE = "auth.refresh_tokens";
+    private static final String PARTITION_PREFIX = "refresh_tokens_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    /** Clave del advisory lock: fija y compartida por todas las réplicas. */
+    private static final String LOCK_SQL =
+            "SELECT pg_try_advisory_xact_lock(hashtext('auth.refresh_tokens.partitions'))";
+    /**
+     * CREATE/DROP de particiones toman un lock exclusivo breve sobre la tabla padre: si hay
+     * una consulta larga en curso, mejor reintentar en la próxima ejecución que encolar
+     * detrás de ella todos los INSERT/UPDATE de refresh tokens.
+     */
+    private static final String LOCK_TIMEOUT_SQL = "SET LOCAL lock_timeout = '5s'";
+    private static final String IS_PARTITIONED_SQL =
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('" + PARENT_TABLE + "'))";
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT c.relname
+              FROM pg_inherits i
+              JOIN pg_class c ON c.oid = i.inhrelid
+             WHERE i.inhparent = to_regclass('%s')
+            """.formatted(PARENT_TABLE);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int premakeDays;
+    private final int retentionDays;
+
+    private final Counter created;
+    private final Counter dropped;
+
+    public RefreshTokenPartitionManager(JdbcTemplate jdbcTemplate,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${auth.refresh-tokens.partitions.premake-days:14}") int premakeDays,
+                                        @Value("${auth.refresh-tokens.partitions.retention-days:1}") int retentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.premakeDays = premakeDays;
+        this.retentionDays = retentionDays;
+        this.created = meterRegistry.counter("auth.refresh_token.partitions", "action", "created");
+        this.dropped = meterRegistry.counter("auth.refresh_token.partitions", "action", "dropped");
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${auth.refresh-tokens.partitions.check-interval-ms:3600000}")
+    public void maintainPartitions() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Boolean.class))) {
+                    log.debug("{} no está particionada, se omite el mantenimiento", PARENT_TABLE);
+                    return;
+                }
+                if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK_SQL, Boolean.class))) {
+                    log.debug("Otra instancia está manteniendo las particiones de {}", PARENT_TABLE);
+                    return;
+                }
+
+                jdbcTemplate.execute(LOCK_TIMEOUT_SQL);
+                LocalDate today = LocalDate.now(ZoneOffset.UTC);
+                Set<LocalDate> existing = existingPartitions();
+                createMissing(existing, today);
+                dropExpired(existing, today);
+            });
+        } catch (RuntimeException e) {
+            log.error("Error manteniendo las particiones de {}: {}", PARENT_TABLE, e.getMessage());
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Implementación interna
+    // -------------------------------------------------------------------------
+
+    private Set<LocalDate> existingPartitions() {
+        List<String> names = jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class);
+        Set<LocalDate> days = new HashSet<>();
+        for (String name : names) {
+            if (!name.startsWith(PARTITION_PREFIX)) {
+                continue;  // particiones creadas a mano: no se tocan
+            }
+            try {
+                days.add(LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+            } catch (DateTimeParseException e) {
+                log.warn("Partición con nombre no reconocido en {}: {}", PARENT_TABLE, name);
+            }
+        }
+        return days;
+    }
+
+    private void createMissing(Set<LocalDate> existing, LocalDate today) {
+        for (LocalDate day = today; !day.isAfter(today.plusDays(premakeDays)); day = day.plusDays(1)) {
+            if (existing.contains(day)) {
+                continue;
+            }
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS auth." + partitionName(day)
+                    + " PARTITION OF " + PARENT_TABLE
+                    + " FOR VALUES FROM ('" + day.atStartOfDay(ZoneOffset.UTC).toInstant() + "')"
+                    + " TO ('" + day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant() + "')");
+            created.increment();
+            log.info("Partición creada: auth.{}", partitionName(day));
+        }
+    }
+
+    private void dropExpired(Set<LocalDate> existing, LocalDate today) {
+        // La partición del día D cubre expires_at < D+1: se elimina cuando D+1 <= hoy - retention
+        LocalDate lastDroppable = today.minusDays(retentionDays + 1L);
+        for (LocalDate day : existing) {
+            if (day.isAfter(lastDroppable)) {
+                continue;
+            }
+            jdbcTemplate.execute("DROP TABLE IF EXISTS auth." + partitionName(day));
+            dropped.increment();
+            log.info("Partición expirada eliminada: auth.{}", partitionName(day));
+        }
+    }
+
+    private static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + PARTITION_SUFFIX.format(day);
+    }
+}
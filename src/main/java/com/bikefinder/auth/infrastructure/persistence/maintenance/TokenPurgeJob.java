@@ -0,0 +1,202 @@
+package com.bikefinder.auth.infrastructure.persistence.maintenance;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Purga periódica de tokens muertos en lotes acotados.
+ *
+ * Un único DELETE sobre toda la tabla mantiene locks de fila y genera una ráfaga de
+ * WAL/VACUUM proporcional a lo acumulado. Acá cada lote borra como mucho batch-size
+ * filas (DELETE ... WHERE ctid IN (SELECT ctid ... LIMIT n)), en su propia transacción
+ * (autocommit), con una pausa de pause-ms entre lotes para no competir con el tráfico.
+ *
+ * Qué se purga:
+ * - auth.verification_tokens expirados.
+ * - auth.refresh_tokens revocados hace más de refresh-revoked-retention-minutes cuya
+ *   familia ya no tiene ningún token vigente. Los revocados de una familia viva se
+ *   conservan: son los que permiten detectar el reuso (RefreshTokenPortImpl.rotateToken).
+ *   Los expirados no se borran acá: salen con el DROP de su partición
+ *   (RefreshTokenPartitionManager).
+ *
+ * Con varias réplicas corre solo en una: la ejecución toma pg_try_advisory_lock en la
+ * conexión que usa para todos los lotes y lo libera al terminar; las demás lo encuentran
+ * tomado y salen sin hacer nada.
+ *
+ * Métricas: auth.purge.rows{table}, auth.purge.chunk{table} (duración de cada lote),
+ * auth.purge.runs{result=completed|not_leader|failed}.
+ */
+@Component
+@Slf4j
+public class TokenPurgeJob {
+
+    private static final String LOCK_SQL = "SELECT pg_try_advisory_lock(hashtext('auth.token_purge'))";
+    private static final String UNLOCK_SQL = "SELECT pg_advisory_unlock(hashtext('auth.token_purge'))";
+
+    private static final String PURGE_VERIFICATION_TOKENS_SQL = """
+            DELETE FROM auth.verification_tokens
+             WHERE ctid IN (SELECT ctid FROM auth.verification_tokens
+                             WHERE expires_at < now()
+                             LIMIT ?)
+            """;
+
+    /**
+     * En una tabla particionada el ctid solo es único dentro de cada partición:
+     * se identifica la fila por (tableoid, ctid).
+     */
+    private static final String PURGE_REFRESH_TOKENS_SQL = """
+            DELETE FROM auth.refresh_tokens
+             WHERE (tableoid, ctid) IN (
+                   SELECT r.tableoid, r.ctid
+                     FROM auth.refresh_tokens r
+                    WHERE r.revoked_at < now() - make_interval(mins => ?)
+                      AND NOT EXISTS (SELECT 1 FROM auth.refresh_tokens l
+                                       WHERE l.family_id = r.family_id
+                                         AND l.revoked_at IS NULL
+                                         AND l.expires_at > now())
+                    LIMIT ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pauseMs;
+    private final int maxBatchesPerRun;
+    private final int refreshRevokedRetentionMinutes;
+
+    private final Counter completedRuns;
+    private final Counter notLeaderRuns;
+    private final Counter failedRuns;
+
+    public TokenPurgeJob(JdbcTemplate jdbcTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${auth.purge.enabled:true}") boolean enabled,
+                         @Value("${auth.purge.batch-size:1000}") int batchSize,
+                         @Value("${auth.purge.pause-ms:100}") long pauseMs,
+                         @Value("${auth.purge.max-batches-per-run:500}") int maxBatchesPerRun,
+                         @Value("${auth.purge.refresh-revoked-retention-minutes:60}") int refreshRevokedRetentionMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.refreshRevokedRetentionMinutes = refreshRevokedRetentionMinutes;
+        this.completedRuns = meterRegistry.counter("auth.purge.runs", "result", "completed");
+        this.notLeaderRuns = meterRegistry.counter("auth.purge.runs", "result", "not_leader");
+        this.failedRuns    = meterRegistry.counter("auth.purge.runs", "result", "failed");
+    }
+
+    @Scheduled(initialDelayString = "${auth.purge.interval-ms:900000}", fixedDelayString = "${auth.purge.interval-ms:900000}")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                runAsLeader(connection);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            failedRuns.increment();
+            log.error("Error en la purga de tokens: {}", e.getMessage());
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Implementación interna
+    // -------------------------------------------------------------------------
+
+    private void runAsLeader(Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(true);  // cada lote es su propia transacción
+        try {
+            if (!queryBoolean(connection, LOCK_SQL)) {
+                notLeaderRuns.increment();
+                log.debug("Otra instancia está ejecutando la purga de tokens");
+                return;
+            }
+            try {
+                long verification = purgeTable(connection, "verification_tokens",
+                        PURGE_VERIFICATION_TOKENS_SQL, List.of(batchSize));
+                long refresh = purgeTable(connection, "refresh_tokens",
+                        PURGE_REFRESH_TOKENS_SQL, List.of(refreshRevokedRetentionMinutes, batchSize));
+                completedRuns.increment();
+                if (verification + refresh > 0) {
+                    log.info("Purga de tokens: {} verification_tokens, {} refresh_tokens eliminados",
+                            verification, refresh);
+                }
+            } finally {
+                queryBoolean(connection, UNLOCK_SQL);
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Borra lotes hasta que uno venga incompleto (no queda nada) o se alcance
+     * max-batches-per-run (lo que falte queda para la próxima ejecución).
+     */
+    private long purgeTable(Connection connection, String table, String sql, List<Integer> params)
+            throws SQLException {
+        Counter rows = meterRegistry.counter("auth.purge.rows", "table", table);
+        Timer chunkTimer = meterRegistry.timer("auth.purge.chunk", "table", table);
+
+        long total = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.size(); i++) {
+                statement.setInt(i + 1, params.get(i));
+            }
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                long startedAt = System.nanoTime();
+                int deleted = statement.executeUpdate();
+                chunkTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                rows.increment(deleted);
+                total += deleted;
+                if (deleted < batchSize || !pause()) {
+                    break;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Pausa entre lotes. false si el thread fue interrumpido (apagado de la aplicación).
+     */
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean queryBoolean(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet rs = statement.executeQuery()) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+}
@@ -10,12 +10,16 @@ public interface CredentialMapper {
     @Mapping(target = "userId", ignore = true)
     @Mapping(target = "user", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
-    @Mapping(target = "failedLoginAttempts", ignore = true)
-    @Mapping(target = "lockedUntil", ignore = true)
     CredentialEntity toEntity(Credential credential);
 
-    @Mapping(target = "passwordHash", source = "passwordHash")
-    @Mapping(target = "failedLoginAttempts", ignore = true)
-    @Mapping(target = "lockedUntil", ignore = true)
-    Credential toDomain(CredentialEntity entity);
+    // Credential no tiene setters: el estado de bloqueo entra por la factory de persistencia
+    default Credential toDomain(CredentialEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        return Credential.fromPersistence(
+                entity.getPasswordHash(),
+                entity.getFailedLoginAttempts() != null ? entity.getFailedLoginAttempts() : 0,
+                entity.getLockedUntil());
+    }
 }
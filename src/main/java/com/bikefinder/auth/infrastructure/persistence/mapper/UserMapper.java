@@ -28,6 +28,7 @@ public interface UserMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
+    @Mapping(target = "tokensValidAfter", ignore = true)
     @Mapping(target = "credential", ignore = true)
     @Mapping(target = "socialIdentities", ignore = true)
     UserEntity toEntity(User user);
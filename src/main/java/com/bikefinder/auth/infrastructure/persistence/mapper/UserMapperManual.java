@@ -53,6 +53,10 @@ public class UserMapperManual {
             Credential credential = credentialMapper.toDomain(entity.getCredential());
             user.setCredential(credential);
         }
+        user.setEmailVerified(Boolean.TRUE.equals(entity.getEmailVerified()));
+
+        // Lo cargado ya está en la BD: save() solo escribe lo que cambie desde acá
+        user.markPersisted(entity.getVersion() != null ? entity.getVersion() : 0);
 
         return user;
     }
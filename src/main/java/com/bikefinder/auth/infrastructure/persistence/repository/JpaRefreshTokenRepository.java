@@ -7,21 +7,32 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface JpaRefreshTokenRepository extends JpaRepository<RefreshTokenEntity, UUID> {
 
-    // ✅ Búsqueda por hash (indexada en la BD)
-    Optional<RefreshTokenEntity> findByTokenHash(String tokenHash);
+    // ✅ Búsqueda por hash (indexada en la BD). El filtro por expiresAt permite a PostgreSQL
+    // descartar las particiones ya vencidas y probar solo los índices de las vigentes
+    @Query("SELECT r FROM RefreshTokenEntity r WHERE r.tokenHash = :tokenHash AND r.expiresAt > :now")
+    Optional<RefreshTokenEntity> findUnexpiredByTokenHash(@Param("tokenHash") byte[] tokenHash, @Param("now") Instant now);
 
-    // Eliminar todos los tokens de un usuario
+    // Como findUnexpiredByTokenHash, pero descarta los emitidos antes del epoch del usuario (tokens_valid_after)
+    @Query("SELECT r FROM RefreshTokenEntity r JOIN r.user u WHERE r.tokenHash = :tokenHash AND r.expiresAt > :now " +
+            "AND (u.tokensValidAfter IS NULL OR r.createdAt >= u.tokensValidAfter)")
+    Optional<RefreshTokenEntity> findCurrentByTokenHash(@Param("tokenHash") byte[] tokenHash, @Param("now") Instant now);
+
+    // Revoca en un solo UPDATE todos los tokens vigentes de la familia (índice parcial en family_id)
     @Modifying
-    @Query("DELETE FROM RefreshTokenEntity r WHERE r.user.id = :userId")
-    int deleteByUserId(@Param("userId") UUID userId);
+    @Query("UPDATE RefreshTokenEntity r SET r.revokedAt = :now " +
+            "WHERE r.familyId = :familyId AND r.revokedAt IS NULL AND r.expiresAt > :now")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") Instant now);
 
-    // Opcional: Buscar tokens activos de un usuario
-    @Query("SELECT r FROM RefreshTokenEntity r WHERE r.user.id = :userId AND r.expiresAt > :now AND r.revokedAt IS NULL")
-    List<RefreshTokenEntity> findActiveByUserId(@Param("userId") UUID userId, @Param("now") Instant now);
+    // Detección de reuso: si el hash corresponde a un token ya revocado, revoca su familia entera.
+    // Un único UPDATE (subconsulta por token_hash, indexado) sin leer filas a Java.
+    // La subconsulta no filtra por expiración: el token reusado puede estar vencido y sus sucesores no
+    @Modifying
+    @Query("UPDATE RefreshTokenEntity r SET r.revokedAt = :now WHERE r.revokedAt IS NULL AND r.expiresAt > :now AND r.familyId = " +
+            "(SELECT t.familyId FROM RefreshTokenEntity t WHERE t.tokenHash = :tokenHash AND t.revokedAt IS NOT NULL)")
+    int revokeFamilyOfRevokedToken(@Param("tokenHash") byte[] tokenHash, @Param("now") Instant now);
 }
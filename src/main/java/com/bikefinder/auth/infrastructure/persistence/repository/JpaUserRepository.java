@@ -2,8 +2,12 @@ package com.bikefinder.auth.infrastructure.persistence.repository;
 
 import com.bikefinder.auth.infrastructure.persistence.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,5 +22,38 @@ public interface JpaUserRepository extends JpaRepository<UserEntity, UUID> {
             "(SELECT si.user.id FROM SocialIdentityEntity si WHERE si.provider = :provider AND si.providerUid = :providerUid)")
     Optional<UserEntity> findBySocialIdentity(@Param("provider") String provider, @Param("providerUid") String providerUid);
 
+    // Usuario + credential en un solo SELECT (el lado mappedBy del OneToOne no es lazy
+    // sin bytecode enhancement: findById haría un segundo SELECT para la credential)
+    @Query("SELECT u FROM UserEntity u LEFT JOIN FETCH u.credential WHERE u.id = :id")
+    Optional<UserEntity> findWithCredentialById(@Param("id") UUID id);
+
+    // Carga en lote con credential en el mismo SELECT (evita N+1 al mapear a dominio)
+    @Query("SELECT u FROM UserEntity u LEFT JOIN FETCH u.credential WHERE u.id IN :ids")
+    List<UserEntity> findAllWithCredentialByIdIn(@Param("ids") Collection<UUID> ids);
+
     boolean existsByEmail(String email);
+
+    // Escrituras del login: un UPDATE puntual, sin leer ni recargar el usuario.
+    // Sin VERSIONED: last_login_at no lo edita el perfil, así que un login concurrente
+    // no debe invalidar la version de un save() en curso (sería un 409 espurio)
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.lastLoginAt = :loginAt WHERE u.id = :userId")
+    int updateLastLoginAt(@Param("userId") UUID userId, @Param("loginAt") Instant loginAt);
+
+    // Re-hash transparente al nuevo algoritmo/costo: condicional sobre el hash verificado
+    @Modifying
+    @Query("UPDATE CredentialEntity c SET c.passwordHash = :upgradedHash, c.updatedAt = :now " +
+            "WHERE c.userId = :userId AND c.passwordHash = :currentHash")
+    int replacePasswordHash(@Param("userId") UUID userId,
+                            @Param("currentHash") String currentHash,
+                            @Param("upgradedHash") String upgradedHash,
+                            @Param("now") Instant now);
+
+    // Cambio de password desde save(): como Credential.updatePassword(), también desbloquea
+    @Modifying
+    @Query("UPDATE CredentialEntity c SET c.passwordHash = :passwordHash, c.failedLoginAttempts = 0, " +
+            "c.lockedUntil = null, c.updatedAt = :now WHERE c.userId = :userId")
+    int updatePassword(@Param("userId") UUID userId,
+                       @Param("passwordHash") String passwordHash,
+                       @Param("now") Instant now);
 }
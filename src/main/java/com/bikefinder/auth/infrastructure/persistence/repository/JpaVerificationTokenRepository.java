@@ -7,7 +7,6 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,10 +14,6 @@ public interface JpaVerificationTokenRepository extends JpaRepository<Verificati
 
     Optional<VerificationTokenEntity> findByToken(String token);
 
-    @Modifying
-    @Query("DELETE FROM VerificationTokenEntity v WHERE v.expiresAt < :now")
-    void deleteExpired(@Param("now") Instant now);
-
     @Modifying
     @Query("DELETE FROM VerificationTokenEntity v WHERE v.userId = :userId AND v.type = :type")
     void deleteByUserIdAndType(@Param("userId") UUID userId, @Param("type") VerificationTokenType type);
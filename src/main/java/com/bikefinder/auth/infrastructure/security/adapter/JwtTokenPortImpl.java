@@ -1,25 +1,47 @@
 package com.bikefinder.auth.infrastructure.security.adapter;
 import com.bikefinder.auth.application.port.output.JwtTokenPort;
 import com.bikefinder.auth.domain.valueobject.UserId;
+import com.bikefinder.auth.domain.valueobject.UserStatus;
+import com.bikefinder.auth.infrastructure.security.crypto.CryptoExecutor;
 import com.bikefinder.auth.infrastructure.security.jwt.JwtProvider;
+import com.bikefinder.auth.infrastructure.security.jwt.TokenEpochRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Future;
 
 @Component
 @RequiredArgsConstructor
 public class JwtTokenPortImpl implements JwtTokenPort {
 
     private final JwtProvider jwtProvider;
+    // La firma (RSA/EC) corre en el pool acotado; la verificación queda en el thread del request
+    private final CryptoExecutor cryptoExecutor;
+    private final TokenEpochRegistry tokenEpochRegistry;
 
     @Override
     public String generateAccessToken(UserId userId, String email) {
-        return jwtProvider.generateAccessToken(userId, email);
+        return cryptoExecutor.execute(CryptoExecutor.OPERATION_JWT_SIGN,
+                () -> jwtProvider.generateAccessToken(userId, email));
+    }
+
+    @Override
+    public String generateAccessToken(UserId userId, String email, UserStatus status) {
+        return cryptoExecutor.execute(CryptoExecutor.OPERATION_JWT_SIGN,
+                () -> jwtProvider.generateAccessToken(userId, email, status));
+    }
+
+    @Override
+    public Future<String> submitAccessToken(UserId userId, String email, UserStatus status) {
+        return cryptoExecutor.submit(CryptoExecutor.OPERATION_JWT_SIGN,
+                () -> jwtProvider.generateAccessToken(userId, email, status));
     }
 
     @Override
     public String generateRefreshToken(UserId userId) {
-        return jwtProvider.generateRefreshToken(userId);
+        return cryptoExecutor.execute(CryptoExecutor.OPERATION_JWT_SIGN,
+                () -> jwtProvider.generateRefreshToken(userId));
     }
 
     @Override
@@ -32,4 +54,11 @@ public class JwtTokenPortImpl implements JwtTokenPort {
         UUID uuid = jwtProvider.extractUserId(token);
         return new UserId(uuid);
     }
+
+    @Override
+    public Optional<UserId> verifyAccessToken(String token) {
+        return jwtProvider.verifyAccessToken(token)
+                .filter(verified -> tokenEpochRegistry.isCurrent(verified.subject(), verified.issuedAt()))
+                .map(verified -> new UserId(verified.subject()));
+    }
 }
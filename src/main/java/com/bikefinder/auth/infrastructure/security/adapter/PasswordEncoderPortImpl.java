@@ -1,6 +1,7 @@
 package com.bikefinder.auth.infrastructure.security.adapter;
 
 import com.bikefinder.auth.application.port.output.PasswordEncoderPort;
+import com.bikefinder.auth.infrastructure.security.crypto.CryptoExecutor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
@@ -10,14 +11,24 @@ import org.springframework.stereotype.Component;
 public class PasswordEncoderPortImpl implements PasswordEncoderPort {
 
     private final PasswordEncoder passwordEncoder;
+    // Un hash de password son ~250ms de CPU: se ejecuta en el pool acotado, no en el thread del request
+    private final CryptoExecutor cryptoExecutor;
 
     @Override
     public String encode(String rawPassword) {
-        return passwordEncoder.encode(rawPassword);
+        return cryptoExecutor.execute(CryptoExecutor.OPERATION_PASSWORD_HASH,
+                () -> passwordEncoder.encode(rawPassword));
     }
 
     @Override
     public boolean matches(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+        return cryptoExecutor.execute(CryptoExecutor.OPERATION_PASSWORD_VERIFY,
+                () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        // Solo parsea el prefijo/parámetros del hash: no hace falta el pool
+        return passwordEncoder.upgradeEncoding(encodedPassword);
     }
 }
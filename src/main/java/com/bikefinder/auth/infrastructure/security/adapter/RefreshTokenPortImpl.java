@@ -1,18 +1,30 @@
 package com.bikefinder.auth.infrastructure.security.adapter;
 
 import com.bikefinder.auth.application.port.output.RefreshTokenPort;
+import com.bikefinder.auth.domain.exception.DomainException;
 import com.bikefinder.auth.domain.valueobject.UserId;
 import com.bikefinder.auth.infrastructure.persistence.entity.RefreshTokenEntity;
-import com.bikefinder.auth.infrastructure.persistence.entity.UserEntity;
 import com.bikefinder.auth.infrastructure.persistence.repository.JpaRefreshTokenRepository;
-import com.bikefinder.auth.infrastructure.persistence.repository.JpaUserRepository;
+import com.bikefinder.auth.infrastructure.security.jwt.TokenEpochRegistry;
+import com.bikefinder.auth.infrastructure.security.jwt.VerifiedTokenCache;
+import com.bikefinder.auth.infrastructure.security.refresh.LiveRefreshTokenFilter;
+import com.bikefinder.auth.infrastructure.security.refresh.RefreshTokenCodec;
 import com.bikefinder.auth.infrastructure.security.util.TokenHashUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,47 +33,163 @@ import java.util.UUID;
 @Slf4j
 public class RefreshTokenPortImpl implements RefreshTokenPort {
 
+    private static final Duration REFRESH_TOKEN_TTL = Duration.ofDays(7);
+
+    private static final String INSERT_REFRESH_TOKEN_SQL = """
+            INSERT INTO auth.refresh_tokens
+                   (id, user_id, token_hash, family_id, expires_at, created_at, user_agent, ip_address)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    /**
+     * Consume el token solo si sigue vigente. Es atómico en PostgreSQL: con dos refresh
+     * concurrentes del mismo token, el segundo UPDATE espera el lock de la fila,
+     * re-evalúa el WHERE y no devuelve nada.
+     * Un token creado antes del epoch del usuario (tokens_valid_after, V30) no se
+     * consume: la comparación es un lookup por PK en la misma sentencia.
+     */
+    private static final String CONSUME_REFRESH_TOKEN_SQL = """
+            UPDATE auth.refresh_tokens
+               SET revoked_at = now(), used_at = now()
+             WHERE token_hash = ? AND revoked_at IS NULL AND expires_at > now()
+               AND NOT EXISTS (SELECT 1 FROM auth.users u
+                                WHERE u.id = refresh_tokens.user_id
+                                  AND u.tokens_valid_after > refresh_tokens.created_at)
+            RETURNING user_id, family_id, user_agent, ip_address
+            """;
+
+    /**
+     * Sesiones activas por keyset sobre (created_at, id), descendente: cada página es un
+     * rango del índice cubriente idx_refresh_tokens_user_sessions (V29), sin OFFSET y
+     * con LIMIT, sin importar cuántos tokens tenga el usuario. Los tokens anteriores
+     * al epoch del usuario quedan fuera como cota inferior del mismo rango.
+     */
+    private static final String FIRST_SESSIONS_PAGE_SQL = """
+            SELECT id, family_id, created_at, expires_at, user_agent, ip_address
+              FROM auth.refresh_tokens
+             WHERE user_id = ? AND revoked_at IS NULL AND expires_at > now()
+               AND created_at >= coalesce((SELECT tokens_valid_after FROM auth.users WHERE id = ?),
+                                          '-infinity'::timestamptz)
+             ORDER BY created_at DESC, id DESC
+             LIMIT ?
+            """;
+    private static final String NEXT_SESSIONS_PAGE_SQL = """
+            SELECT id, family_id, created_at, expires_at, user_agent, ip_address
+              FROM auth.refresh_tokens
+             WHERE user_id = ? AND revoked_at IS NULL AND expires_at > now()
+               AND created_at >= coalesce((SELECT tokens_valid_after FROM auth.users WHERE id = ?),
+                                          '-infinity'::timestamptz)
+               AND (created_at, id) < (?, ?)
+             ORDER BY created_at DESC, id DESC
+             LIMIT ?
+            """;
+
+    /**
+     * Un único UPDATE; el filtro por user_id impide revocar la sesión de otro usuario.
+     * Los tokens anteriores a las familias (family_id NULL) se identifican por su id.
+     */
+    private static final String REVOKE_SESSION_SQL = """
+            UPDATE auth.refresh_tokens
+               SET revoked_at = now()
+             WHERE user_id = ? AND revoked_at IS NULL AND expires_at > now()
+               AND (family_id = ? OR (family_id IS NULL AND id = ?))
+            """;
+
+    private static final int MAX_USER_AGENT_LENGTH = 512;
+    private static final int MAX_IP_ADDRESS_LENGTH = 64;
+
     private final JpaRefreshTokenRepository refreshTokenRepository;
-    private final JpaUserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final LiveRefreshTokenFilter liveTokenFilter;
+    private final RefreshTokenCodec refreshTokenCodec;
 
     @Override
     @Transactional
-    public String createToken(UserId userId, String familyId) {
-        // 1. Generar token plano (aleatorio)
-        String rawToken = UUID.randomUUID() + "-" + UUID.randomUUID();
-
-        // 2. Hashear con SHA-256 para almacenamiento (determinístico)
-        String tokenHash = TokenHashUtil.hash(rawToken);
-
-        // 3. Cargar usuario
-        UserEntity user = userRepository.findById(userId.value())
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado: " + userId.value()));
-
-        // 4. Crear entidad
-        RefreshTokenEntity entity = RefreshTokenEntity.builder()
-                .id(UUID.randomUUID())
-                .user(user)
-                .tokenHash(tokenHash)  // ← SHA-256 hash
-                .familyId(UUID.fromString(familyId))
-                .expiresAt(Instant.now().plusSeconds(604800)) // 7 días
-                .createdAt(Instant.now())
-                .build();
-
-        refreshTokenRepository.save(entity);
+    public String createToken(UserId userId, String ipAddress, String userAgent) {
+        // 1. Generar token plano (aleatorio, firmado con su expiración)
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(REFRESH_TOKEN_TTL);
+        String rawToken = refreshTokenCodec.issue(expiresAt);
+
+        // 2. Guardar solo el hash SHA-256, en una familia nueva. Sin cargar UserEntity:
+        //    la FK sobre user_id ya garantiza que el usuario existe
+        byte[] tokenHash = TokenHashUtil.hashBytes(rawToken);
+        jdbcTemplate.update(INSERT_REFRESH_TOKEN_SQL,
+                UUID.randomUUID(),
+                userId.value(),
+                tokenHash,
+                UUID.randomUUID(),
+                Timestamp.from(expiresAt),
+                Timestamp.from(now),
+                truncate(userAgent, MAX_USER_AGENT_LENGTH),
+                truncate(ipAddress, MAX_IP_ADDRESS_LENGTH));
+        liveTokenFilter.add(tokenHash);
         log.debug("Refresh token creado para usuario: {}", userId.value());
 
-        // 5. Retornar token PLANO (solo esta vez)
+        // 3. Retornar token PLANO (solo esta vez)
         return rawToken;
     }
 
+    /**
+     * Emisión masiva: sin cargar UserEntity ni pasar por el contexto de persistencia,
+     * todos los INSERT viajan en un único batch JDBC (con reWriteBatchedInserts el
+     * driver de PostgreSQL los reescribe como INSERT multi-fila).
+     * Los user_id deben existir: la FK rechaza el batch completo si alguno no existe.
+     */
+    @Override
+    @Transactional
+    public List<String> createTokens(List<UserId> userIds) {
+        Instant now = Instant.now();
+        Instant expiration = now.plus(REFRESH_TOKEN_TTL);
+        Timestamp createdAt = Timestamp.from(now);
+        Timestamp expiresAt = Timestamp.from(expiration);
+
+        List<String> rawTokens = new ArrayList<>(userIds.size());
+        List<byte[]> tokenHashes = new ArrayList<>(userIds.size());
+        List<Object[]> rows = new ArrayList<>(userIds.size());
+        for (UserId userId : userIds) {
+            String rawToken = refreshTokenCodec.issue(expiration);
+            byte[] tokenHash = TokenHashUtil.hashBytes(rawToken);
+            rawTokens.add(rawToken);
+            tokenHashes.add(tokenHash);
+            rows.add(new Object[]{
+                    UUID.randomUUID(),
+                    userId.value(),
+                    tokenHash,
+                    UUID.randomUUID(),  // familia nueva por sesión
+                    expiresAt,
+                    createdAt,
+                    null,  // emisión servicio a servicio: sin user-agent/IP del usuario
+                    null
+            });
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_REFRESH_TOKEN_SQL, rows);
+        tokenHashes.forEach(liveTokenFilter::add);
+        log.debug("{} refresh tokens creados en batch", rawTokens.size());
+        return rawTokens;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<String> validateToken(String rawToken) {
+        // 0. Formato, firma y expiración en memoria: lo adulterado no llega a la BD
+        if (!refreshTokenCodec.verify(rawToken)) {
+            log.warn("Refresh token inválido: mal formado, firma inválida o expirado");
+            return Optional.empty();
+        }
+
         // 1. Hashear el token recibido
-        String tokenHash = TokenHashUtil.hash(rawToken);
+        byte[] tokenHash = TokenHashUtil.hashBytes(rawToken);
+        if (liveTokenFilter.isDefinitelyAbsent(tokenHash)) {
+            log.warn("Refresh token no encontrado");
+            return Optional.empty();
+        }
 
-        // 2. Buscar por hash (indexado, rápido)
-        Optional<RefreshTokenEntity> tokenOpt = refreshTokenRepository.findByTokenHash(tokenHash);
+        // 2. Buscar por hash (indexado, rápido), descartando los anteriores al epoch del usuario
+        Optional<RefreshTokenEntity> tokenOpt = refreshTokenRepository.findCurrentByTokenHash(tokenHash, Instant.now());
 
         if (tokenOpt.isEmpty()) {
             log.warn("Refresh token no encontrado");
@@ -82,8 +210,14 @@ public class RefreshTokenPortImpl implements RefreshTokenPort {
     @Override
     @Transactional
     public void revokeToken(String rawToken) {
-        String tokenHash = TokenHashUtil.hash(rawToken);
-        refreshTokenRepository.findByTokenHash(tokenHash)
+        if (!refreshTokenCodec.verify(rawToken)) {
+            return;
+        }
+        byte[] tokenHash = TokenHashUtil.hashBytes(rawToken);
+        if (liveTokenFilter.isDefinitelyAbsent(tokenHash)) {
+            return;
+        }
+        refreshTokenRepository.findUnexpiredByTokenHash(tokenHash, Instant.now())
                 .ifPresent(token -> {
                     token.setRevokedAt(Instant.now());
                     refreshTokenRepository.save(token);
@@ -91,17 +225,165 @@ public class RefreshTokenPortImpl implements RefreshTokenPort {
                 });
     }
 
+    /**
+     * Rotación en dos sentencias (UPDATE ... RETURNING + INSERT) en una transacción,
+     * sin leer la fila antes ni cargar UserEntity. Si el INSERT falla, el token
+     * anterior no queda consumido.
+     *
+     * Si el token no se pudo consumir porque ya estaba revocado, es un reuso: lo
+     * presenta alguien que no es el último poseedor legítimo (token robado o
+     * duplicado), así que se revoca la familia completa en un único UPDATE.
+     *
+     * Un token mal formado, con firma inválida o expirado (RefreshTokenCodec), o que el
+     * filtro en memoria descarta (inexistente), se rechaza sin ninguna sentencia SQL.
+     */
+    @Override
+    @Transactional
+    public Optional<Rotation> rotateToken(String rawToken) {
+        if (!refreshTokenCodec.verify(rawToken)) {
+            log.warn("Refresh token inválido: mal formado, firma inválida o expirado");
+            return Optional.empty();
+        }
+        byte[] tokenHash = TokenHashUtil.hashBytes(rawToken);
+        if (liveTokenFilter.isDefinitelyAbsent(tokenHash)) {
+            log.warn("Refresh token inválido: inexistente o expirado");
+            return Optional.empty();
+        }
+        List<ConsumedToken> consumed = jdbcTemplate.query(
+                CONSUME_REFRESH_TOKEN_SQL,
+                (rs, rowNum) -> new ConsumedToken(
+                        rs.getObject("user_id", UUID.class),
+                        rs.getObject("family_id", UUID.class),
+                        rs.getString("user_agent"),
+                        rs.getString("ip_address")),
+                tokenHash);
+
+        if (consumed.isEmpty()) {
+            int revoked = refreshTokenRepository.revokeFamilyOfRevokedToken(tokenHash, Instant.now());
+            if (revoked > 0) {
+                log.warn("Reuso de refresh token revocado: familia revocada ({} tokens)", revoked);
+            } else {
+                log.warn("Refresh token inválido: inexistente, expirado o ya usado");
+            }
+            return Optional.empty();
+        }
+
+        ConsumedToken old = consumed.get(0);
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(REFRESH_TOKEN_TTL);
+        String newRawToken = refreshTokenCodec.issue(expiresAt);
+        byte[] newTokenHash = TokenHashUtil.hashBytes(newRawToken);
+        jdbcTemplate.update(INSERT_REFRESH_TOKEN_SQL,
+                UUID.randomUUID(),
+                old.userId(),
+                newTokenHash,
+                old.familyId() != null ? old.familyId() : UUID.randomUUID(),
+                Timestamp.from(expiresAt),
+                Timestamp.from(now),
+                old.userAgent(),
+                old.ipAddress());
+        liveTokenFilter.add(newTokenHash);
+
+        log.debug("Refresh token rotado para usuario: {}", old.userId());
+        return Optional.of(new Rotation(new UserId(old.userId()), newRawToken));
+    }
+
     @Override
     @Transactional
     public void revokeAllUserTokens(UserId userId) {
-        refreshTokenRepository.deleteByUserId(userId.value());
+        // Un UPDATE de auth.users: refresh y access tokens emitidos hasta ahora dejan de aceptarse.
+        // Las filas de refresh_tokens no se tocan; salen con su partición al expirar
+        tokenEpochRegistry.invalidateTokensIssuedBefore(userId.value(), Instant.now());
+        verifiedTokenCache.invalidateSubject(userId.value());
         log.info("Todos los tokens revocados para usuario: {}", userId.value());
     }
 
     @Override
     @Transactional
     public void revokeFamilyTokens(String familyId) {
-        // Implementar según necesites
-        log.debug("Revocando familia de tokens: {}", familyId);
+        int revoked = refreshTokenRepository.revokeFamily(UUID.fromString(familyId), Instant.now());
+        log.info("Familia de tokens {} revocada ({} tokens)", familyId, revoked);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SessionPage findActiveSessions(UserId userId, String cursor, int limit) {
+        // limit + 1: si vuelve una fila de más, hay página siguiente
+        RowMapper<SessionRow> mapper = (rs, rowNum) -> {
+            UUID id = rs.getObject("id", UUID.class);
+            UUID familyId = rs.getObject("family_id", UUID.class);
+            return new SessionRow(id, new Session(
+                    familyId != null ? familyId : id,
+                    rs.getString("user_agent"),
+                    rs.getString("ip_address"),
+                    rs.getTimestamp("created_at").toInstant(),
+                    rs.getTimestamp("expires_at").toInstant()));
+        };
+
+        List<SessionRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = jdbcTemplate.query(FIRST_SESSIONS_PAGE_SQL, mapper,
+                    userId.value(), userId.value(), limit + 1);
+        } else {
+            SessionCursor after = SessionCursor.decode(cursor);
+            rows = jdbcTemplate.query(NEXT_SESSIONS_PAGE_SQL, mapper,
+                    userId.value(), userId.value(), Timestamp.from(after.createdAt()), after.id(), limit + 1);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            SessionRow last = rows.get(limit - 1);
+            nextCursor = new SessionCursor(last.session().lastUsedAt(), last.id()).encode();
+        }
+        return new SessionPage(rows.stream().map(SessionRow::session).toList(), nextCursor);
+    }
+
+    @Override
+    @Transactional
+    public boolean revokeSession(UserId userId, UUID sessionId) {
+        int revoked = jdbcTemplate.update(REVOKE_SESSION_SQL, userId.value(), sessionId, sessionId);
+        log.info("Sesión {} revocada para usuario {}: {}", sessionId, userId.value(), revoked > 0);
+        return revoked > 0;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private record ConsumedToken(UUID userId, UUID familyId, String userAgent, String ipAddress) {}
+
+    private record SessionRow(UUID id, Session session) {}
+
+    /**
+     * Posición de keyset (created_at, id) de la última fila de una página, opaca para
+     * el cliente: Base64URL(microsegundos epoch (8 bytes) + id (16 bytes)).
+     */
+    private record SessionCursor(Instant createdAt, UUID id) {
+
+        private static final int LENGTH = Long.BYTES * 3;
+
+        String encode() {
+            ByteBuffer buffer = ByteBuffer.allocate(LENGTH);
+            buffer.putLong(ChronoUnit.MICROS.between(Instant.EPOCH, createdAt));
+            buffer.putLong(id.getMostSignificantBits());
+            buffer.putLong(id.getLeastSignificantBits());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+        }
+
+        static SessionCursor decode(String cursor) {
+            byte[] bytes;
+            try {
+                bytes = Base64.getUrlDecoder().decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new DomainException("Cursor de paginación inválido");
+            }
+            if (bytes.length != LENGTH) {
+                throw new DomainException("Cursor de paginación inválido");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            Instant createdAt = Instant.EPOCH.plus(buffer.getLong(), ChronoUnit.MICROS);
+            return new SessionCursor(createdAt, new UUID(buffer.getLong(), buffer.getLong()));
+        }
     }
 }
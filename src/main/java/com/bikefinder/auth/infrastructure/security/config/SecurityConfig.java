@@ -3,6 +3,7 @@ package com.bikefinder.auth.infrastructure.security.config;
 import com.bikefinder.auth.infrastructure.security.filter.JwtAuthenticationFilter;
 import com.bikefinder.auth.infrastructure.security.handler.AuthFailureHandler;
 import com.bikefinder.auth.infrastructure.security.handler.AuthSuccessHandler;
+import com.bikefinder.auth.infrastructure.security.crypto.PasswordEncoderFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -16,7 +17,6 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -53,6 +53,8 @@ public class SecurityConfig {
                         .requestMatchers("/auth/**").permitAll()
                         .requestMatchers("/actuator/health").permitAll()
                         .requestMatchers("/.well-known/jwks.json").permitAll()
+                        // Servicios internos: autenticados por X-Internal-Api-Key en el controller
+                        .requestMatchers("/internal/**").permitAll()
                         // OAuth2 login
                         .requestMatchers("/oauth2/**").permitAll()
                         .requestMatchers("/login/oauth2/**").permitAll()
@@ -69,15 +71,16 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12); // Cost factor alto para producción
+    public PasswordEncoder passwordEncoder(PasswordEncoderFactory passwordEncoderFactory) {
+        // Delegating (BCrypt / Argon2id / PBKDF2) con el costo calibrado al arrancar
+        return passwordEncoderFactory.create();
     }
 
     @Bean
-    public AuthenticationManager authenticationManager() {
+    public AuthenticationManager authenticationManager(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return new ProviderManager(authProvider);
     }
 
@@ -0,0 +1,174 @@
+package com.bikefinder.auth.infrastructure.security.crypto;
+
+import com.bikefinder.auth.domain.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pool acotado para el trabajo criptográfico intensivo en CPU (firma de JWT, BCrypt).
+ *
+ * Sin este pool, una ráfaga de logins ocupa todos los threads de Tomcat con BCrypt/RSA
+ * y endpoints baratos (/.well-known/jwks.json, /actuator/health) dejan de responder.
+ * Con él, como mucho "threads" operaciones corren a la vez y "queue-capacity" esperan;
+ * el resto se rechaza al instante con ServiceOverloadedException (503 + Retry-After)
+ * en lugar de acumular requests bloqueados.
+ *
+ * El thread del request espera el resultado, así que el llamador no cambia
+ * (API síncrona); lo que queda acotado es cuántos threads pueden estar esperando.
+ *
+ * Métricas:
+ * - auth.crypto.executor.queued / .active: profundidad de la cola y tareas en ejecución.
+ * - auth.crypto.executor.wait{operation}: tiempo en cola antes de empezar.
+ * - auth.crypto.executor.execution{operation}: tiempo de CPU de la operación.
+ * - auth.crypto.executor.rejections{operation}: requests rechazados por cola llena.
+ */
+@Component
+@Slf4j
+public class CryptoExecutor {
+
+    public static final String OPERATION_JWT_SIGN        = "jwt_sign";
+    public static final String OPERATION_PASSWORD_HASH   = "password_hash";
+    public static final String OPERATION_PASSWORD_VERIFY = "password_verify";
+
+    private static final String THREAD_NAME_PREFIX = "crypto-";
+
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final long retryAfterSeconds;
+
+    public CryptoExecutor(MeterRegistry meterRegistry,
+                          @Value("${auth.crypto.threads:0}") int threads,
+                          @Value("${auth.crypto.queue-capacity:32}") int queueCapacity,
+                          @Value("${auth.crypto.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        // 0 = un thread por core: más threads no aceleran trabajo que es puro CPU
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CryptoThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        Gauge.builder("auth.crypto.executor.queued", executor, e -> e.getQueue().size())
+                .description("Operaciones criptográficas esperando un thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.crypto.executor.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Operaciones criptográficas en ejecución")
+                .register(meterRegistry);
+        Gauge.builder("auth.crypto.executor.queue.capacity", () -> queueCapacity)
+                .register(meterRegistry);
+
+        log.info("CryptoExecutor: {} threads, cola de {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Ejecuta la operación en el pool y espera su resultado.
+     *
+     * @throws ServiceOverloadedException si la cola está llena (no se ejecuta nada)
+     */
+    public <T> T execute(String operation, Supplier<T> task) {
+        return await(submit(operation, task));
+    }
+
+    /**
+     * Encola la operación sin esperarla (lotes: el llamador acota cuántas tiene en vuelo).
+     *
+     * @throws ServiceOverloadedException si la cola está llena (no se encola nada)
+     */
+    public <T> Future<T> submit(String operation, Supplier<T> task) {
+        // Llamada anidada desde el propio pool: ejecutar directo, encolar podría autobloquearse
+        if (Thread.currentThread() instanceof CryptoThread) {
+            return CompletableFuture.completedFuture(task.get());
+        }
+
+        long enqueuedAt = System.nanoTime();
+        Timer waitTimer = meterRegistry.timer("auth.crypto.executor.wait", "operation", operation);
+        Timer executionTimer = meterRegistry.timer("auth.crypto.executor.execution", "operation", operation);
+
+        try {
+            return executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejections(operation).increment();
+            log.warn("Pool criptográfico saturado, rechazando {}", operation);
+            throw new ServiceOverloadedException(
+                    "Servicio temporalmente sobrecargado, reintente en unos segundos", retryAfterSeconds);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // -------------------------------------------------------------------------
+    // Implementación interna
+    // -------------------------------------------------------------------------
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando una operación criptográfica", e);
+        }
+    }
+
+    private Counter rejections(String operation) {
+        return meterRegistry.counter("auth.crypto.executor.rejections", "operation", operation);
+    }
+
+    private static final class CryptoThread extends Thread {
+        private CryptoThread(Runnable runnable, String name) {
+            super(runnable, name);
+            setDaemon(true);
+        }
+    }
+
+    private static final class CryptoThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new CryptoThread(runnable, THREAD_NAME_PREFIX + sequence.incrementAndGet());
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.bikefinder.auth.infrastructure.security.crypto;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Arma el PasswordEncoder de la aplicación: un DelegatingPasswordEncoder que reconoce
+ * varios formatos de hash y codifica los nuevos con el algoritmo objetivo.
+ *
+ * Formatos reconocidos:
+ * - {bcrypt}$2a$...          BCrypt (cualquier strength: va dentro del hash)
+ * - $2a$... sin prefijo       BCrypt anterior a este encoder (SecurityConfig usaba BCrypt(12) directo)
+ * - {argon2}$argon2id$...     Argon2id (solo si BouncyCastle está en el classpath)
+ * - {pbkdf2-sha256}N$...      PBKDF2-HMAC-SHA256 con las iteraciones en el hash
+ * - {pbkdf2}...               PBKDF2 de Spring con los defaults de 5.8 (solo verificación)
+ *
+ * Los hashes nuevos siempre usan el costo configurado, que es uno solo para toda la
+ * flota. Un hash de otro formato o con costo menor se re-hashea en el próximo login
+ * exitoso (upgradeEncoding + LoginUserServiceImpl); nunca hacia abajo.
+ *
+ * Calibración (auth.password.calibrate=true): al arrancar se mide una verificación en
+ * este hardware y se informa el costo más alto cuya verificación no supera
+ * target-verify-ms. Es solo una sugerencia (log + métrica) para ajustar la
+ * configuración: si cada instancia hasheara con su propio costo medido, el re-hash
+ * hacia arriba llevaría los hashes compartidos al costo del nodo más rápido.
+ *
+ * Métricas: auth.password.hash.cost{algorithm} con el costo en uso y
+ * auth.password.hash.suggested_cost{algorithm} con el calibrado
+ * (strength de BCrypt o iteraciones de Argon2/PBKDF2).
+ */
+@Component
+@Slf4j
+public class PasswordEncoderFactory {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+    public static final String PBKDF2 = "pbkdf2-sha256";
+    private static final String SPRING_PBKDF2 = "pbkdf2";
+
+    private static final boolean ARGON2_AVAILABLE = ClassUtils.isPresent(
+            "org.bouncycastle.crypto.generators.Argon2BytesGenerator", PasswordEncoderFactory.class.getClassLoader());
+
+    private static final int ARGON2_SALT_LENGTH = 16;
+    private static final int ARGON2_HASH_LENGTH = 32;
+    private static final int ARGON2_PARALLELISM = 1;
+
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+    private static final int MAX_ARGON2_ITERATIONS = 64;
+    private static final int MAX_PBKDF2_ITERATIONS = 5_000_000;
+    private static final int PBKDF2_PROBE_ITERATIONS = 50_000;
+
+    private static final String SAMPLE_PASSWORD = "Calibracion-123!";
+    private static final int SAMPLES = 5;
+
+    private final MeterRegistry meterRegistry;
+    private final String algorithm;
+    private final boolean calibrate;
+    private final long targetVerifyMs;
+    private final int bcryptStrength;
+    private final int argon2MemoryKb;
+    private final int argon2Iterations;
+    private final int pbkdf2Iterations;
+
+    public PasswordEncoderFactory(MeterRegistry meterRegistry,
+                                  @Value("${auth.password.algorithm:bcrypt}") String algorithm,
+                                  @Value("${auth.password.calibrate:true}") boolean calibrate,
+                                  @Value("${auth.password.target-verify-ms:250}") long targetVerifyMs,
+                                  @Value("${auth.password.bcrypt.strength:12}") int bcryptStrength,
+                                  @Value("${auth.password.argon2.memory-kb:19456}") int argon2MemoryKb,
+                                  @Value("${auth.password.argon2.iterations:2}") int argon2Iterations,
+                                  @Value("${auth.password.pbkdf2.iterations:600000}") int pbkdf2Iterations) {
+        this.meterRegistry = meterRegistry;
+        this.algorithm = algorithm.trim().toLowerCase(Locale.ROOT);
+        this.calibrate = calibrate;
+        this.targetVerifyMs = targetVerifyMs;
+        this.bcryptStrength = bcryptStrength;
+        this.argon2MemoryKb = argon2MemoryKb;
+        this.argon2Iterations = argon2Iterations;
+        this.pbkdf2Iterations = pbkdf2Iterations;
+    }
+
+    public PasswordEncoder create() {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(PBKDF2, new Pbkdf2Sha256PasswordEncoder(pbkdf2Iterations));
+        encoders.put(SPRING_PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (ARGON2_AVAILABLE) {
+            encoders.put(ARGON2, argon2(argon2Iterations));
+        }
+
+        int cost;
+        switch (algorithm) {
+            case BCRYPT -> cost = bcryptStrength;
+            case ARGON2 -> {
+                if (!ARGON2_AVAILABLE) {
+                    throw new IllegalStateException(
+                            "auth.password.algorithm=argon2 requiere BouncyCastle (org.bouncycastle:bcprov) en el classpath");
+                }
+                cost = argon2Iterations;
+            }
+            case PBKDF2 -> cost = pbkdf2Iterations;
+            default -> throw new IllegalStateException(
+                    "auth.password.algorithm inválido: " + algorithm + " (bcrypt | argon2 | " + PBKDF2 + ")");
+        }
+
+        Gauge.builder("auth.password.hash.cost", () -> cost)
+                .tag("algorithm", algorithm)
+                .register(meterRegistry);
+        log.info("Hash de passwords: {} con costo {} (argon2 disponible: {})", algorithm, cost, ARGON2_AVAILABLE);
+        if (calibrate) {
+            reportCalibration(cost);
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        // Hashes BCrypt guardados sin prefijo antes de este encoder
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+
+    // -------------------------------------------------------------------------
+    // Calibración (solo informativa)
+    // -------------------------------------------------------------------------
+
+    private void reportCalibration(int cost) {
+        int suggested = switch (algorithm) {
+            case BCRYPT -> calibrateBcrypt();
+            case ARGON2 -> calibrateArgon2();
+            default -> calibratePbkdf2();
+        };
+        Gauge.builder("auth.password.hash.suggested_cost", () -> suggested)
+                .tag("algorithm", algorithm)
+                .register(meterRegistry);
+        if (suggested != cost) {
+            log.info("Calibración de {}: este hardware admite costo {} para ~{} ms por verificación (configurado {}). "
+                    + "Ajustarlo en la configuración de toda la flota, no por instancia",
+                    algorithm, suggested, targetVerifyMs, cost);
+        } else {
+            log.info("Calibración de {}: el costo configurado {} coincide con el objetivo de {} ms",
+                    algorithm, cost, targetVerifyMs);
+        }
+    }
+
+    /**
+     * Cada punto de strength duplica el costo: se mide un strength bajo (rápido) y se extrapola.
+     */
+    private int calibrateBcrypt() {
+        int probe = Math.max(4, bcryptStrength - 2);
+        double estimatedMs = measureVerifyMs(new BCryptPasswordEncoder(probe));
+        int strength = probe;
+        while (strength < MAX_BCRYPT_STRENGTH && estimatedMs * 2 <= targetVerifyMs) {
+            strength++;
+            estimatedMs *= 2;
+        }
+        while (strength < bcryptStrength) {
+            strength++;
+            estimatedMs *= 2;
+        }
+        warnIfOverTarget(BCRYPT, estimatedMs);
+        return strength;
+    }
+
+    /**
+     * El costo de Argon2 crece linealmente con las iteraciones (memoria fija).
+     */
+    private int calibrateArgon2() {
+        double perIterationMs = measureVerifyMs(argon2(argon2Iterations)) / argon2Iterations;
+        int iterations = clamp((int) (targetVerifyMs / perIterationMs), argon2Iterations, MAX_ARGON2_ITERATIONS);
+        warnIfOverTarget(ARGON2, perIterationMs * iterations);
+        return iterations;
+    }
+
+    private int calibratePbkdf2() {
+        double perIterationMs = measureVerifyMs(new Pbkdf2Sha256PasswordEncoder(PBKDF2_PROBE_ITERATIONS))
+                / PBKDF2_PROBE_ITERATIONS;
+        int iterations = clamp((int) (targetVerifyMs / perIterationMs), pbkdf2Iterations, MAX_PBKDF2_ITERATIONS);
+        warnIfOverTarget(PBKDF2, perIterationMs * iterations);
+        return iterations;
+    }
+
+    /**
+     * Mínimo de varias verificaciones, después de un encode que además calienta el JIT.
+     * El mínimo y no la mediana: al arrancar el JIT todavía está compilando y el ruido
+     * solo suma tiempo, así que la muestra más rápida es la más cercana al régimen estable.
+     */
+    private static double measureVerifyMs(PasswordEncoder encoder) {
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+        encoder.matches(SAMPLE_PASSWORD, hash);
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, hash);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        return fastest / 1_000_000.0;
+    }
+
+    private void warnIfOverTarget(String id, double estimatedMs) {
+        if (estimatedMs > targetVerifyMs * 1.5) {
+            log.warn("El piso configurado para {} tarda ~{} ms en este hardware (objetivo {} ms)",
+                    id, Math.round(estimatedMs), targetVerifyMs);
+        }
+    }
+
+    private Argon2PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, ARGON2_PARALLELISM,
+                argon2MemoryKb, iterations);
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,103 @@
+package com.bikefinder.auth.infrastructure.security.crypto;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * PBKDF2-HMAC-SHA256 con la cantidad de iteraciones dentro del hash:
+ * {iteraciones}${Base64(salt)}${Base64(hash)}
+ *
+ * Pbkdf2PasswordEncoder de Spring no guarda las iteraciones en el hash (las toma de
+ * su configuración), así que no admite un costo calibrado que cambie entre
+ * instancias o despliegues. Acá cada hash se verifica con sus propias iteraciones
+ * y upgradeEncoding() detecta los que quedaron por debajo del costo actual.
+ * Usa solo el JDK (sin BouncyCastle).
+ */
+public class Pbkdf2Sha256PasswordEncoder implements PasswordEncoder {
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH_BITS = 256;
+    private static final int MAX_ITERATIONS = 10_000_000;
+
+    private final int iterations;
+    private final SecureRandom random = new SecureRandom();
+
+    public Pbkdf2Sha256PasswordEncoder(int iterations) {
+        if (iterations < 1 || iterations > MAX_ITERATIONS) {
+            throw new IllegalArgumentException("Iteraciones PBKDF2 fuera de rango: " + iterations);
+        }
+        this.iterations = iterations;
+    }
+
+    public int iterations() {
+        return iterations;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        byte[] salt = new byte[SALT_LENGTH];
+        random.nextBytes(salt);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return iterations + "$" + encoder.encodeToString(salt) + "$"
+                + encoder.encodeToString(derive(rawPassword, salt, iterations));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        String[] parts = split(encodedPassword);
+        if (parts == null) {
+            return false;
+        }
+        try {
+            int hashIterations = Integer.parseInt(parts[0]);
+            if (hashIterations < 1 || hashIterations > MAX_ITERATIONS) {
+                return false;
+            }
+            byte[] salt = Base64.getDecoder().decode(parts[1]);
+            byte[] expected = Base64.getDecoder().decode(parts[2]);
+            return MessageDigest.isEqual(expected, derive(rawPassword, salt, hashIterations));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        String[] parts = split(encodedPassword);
+        if (parts == null) {
+            return false;
+        }
+        try {
+            return Integer.parseInt(parts[0]) < iterations;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static String[] split(String encodedPassword) {
+        if (encodedPassword == null) {
+            return null;
+        }
+        String[] parts = encodedPassword.split("\\$");
+        return parts.length == 3 ? parts : null;
+    }
+
+    private static byte[] derive(CharSequence rawPassword, byte[] salt, int iterations) {
+        char[] password = rawPassword.toString().toCharArray();
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, HASH_LENGTH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo calcular " + ALGORITHM, e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
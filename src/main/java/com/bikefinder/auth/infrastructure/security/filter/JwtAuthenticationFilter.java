@@ -1,6 +1,9 @@
 package com.bikefinder.auth.infrastructure.security.filter;
 
-import com.bikefinder.auth.infrastructure.security.jwt.JwtProvider;
+import com.bikefinder.auth.domain.valueobject.UserStatus;
+import com.bikefinder.auth.infrastructure.security.jwt.TokenEpochRegistry;
+import com.bikefinder.auth.infrastructure.security.jwt.VerifiedToken;
+import com.bikefinder.auth.infrastructure.security.jwt.VerifiedTokenCache;
 import com.bikefinder.auth.infrastructure.security.userdetails.CustomUserDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -8,8 +11,11 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -18,6 +24,8 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
@@ -25,8 +33,16 @@ import java.util.UUID;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtProvider jwtProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenEpochRegistry tokenEpochRegistry;
+
+    /**
+     * true: la Authentication se construye solo con los claims del JWT (roles),
+     * sin cargar el usuario de la BD en cada request protegido.
+     */
+    @Value("${auth.security.stateless-authentication:false}")
+    private boolean statelessAuthentication;
 
     @Override
     protected void doFilterInternal(
@@ -38,26 +54,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtProvider.validateToken(jwt)) {
-                UUID userId = jwtProvider.extractUserId(jwt);
+            // Una sola verificación de firma por request (o ninguna si el token ya está en caché)
+            Optional<VerifiedToken> verified = StringUtils.hasText(jwt)
+                    ? verifiedTokenCache.verifyAccessToken(jwt)
+                    : Optional.empty();
+
+            if (verified.isPresent()) {
+                VerifiedToken token = verified.get();
+                UUID userId = token.subject();
 
-                // Cargar detalles del usuario (puede ser null si solo validamos token)
-                UserDetails userDetails = userDetailsService.loadUserByUserId(userId);
+                // Tokens emitidos antes del epoch del usuario (ej: logout global) se rechazan sin ir a la BD
+                if (!tokenEpochRegistry.isCurrent(userId, token.issuedAt())) {
+                    log.debug("Token emitido antes del epoch del usuario: {}", userId);
+                } else {
+                    Collection<? extends GrantedAuthority> authorities = statelessAuthentication
+                            ? authoritiesFromClaims(token)
+                            : authoritiesFromUserDetails(userId);
 
-                if (userDetails != null) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(
-                                    userId.toString(), // ← principal es el userId como String
-                                    null,
-                                    userDetails.getAuthorities()
-                            );
+                    if (authorities != null) {
+                        UsernamePasswordAuthenticationToken authToken =
+                                new UsernamePasswordAuthenticationToken(
+                                        userId.toString(), // ← principal es el userId como String
+                                        null,
+                                        authorities
+                                );
 
-                    authToken.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request)
-                    );
+                        authToken.setDetails(
+                                new WebAuthenticationDetailsSource().buildDetails(request)
+                        );
 
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    log.debug("Usuario autenticado vía JWT: {}", userId);
+                        SecurityContextHolder.getContext().setAuthentication(authToken);
+                        log.debug("Usuario autenticado vía JWT: {}", userId);
+                    }
                 }
             }
         } catch (Exception ex) {
@@ -67,6 +95,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Modo stateless: roles desde el claim "roles" emitido en el login, sin consultar la BD.
+     * Un token con status BANNED o DELETED no autentica (null), igual que un usuario
+     * inexistente en el modo por defecto.
+     */
+    private Collection<? extends GrantedAuthority> authoritiesFromClaims(VerifiedToken token) {
+        if (UserStatus.BANNED.name().equals(token.status()) || UserStatus.DELETED.name().equals(token.status())) {
+            log.debug("Token con status {} rechazado: {}", token.status(), token.subject());
+            return null;
+        }
+        return token.roles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+
+    /**
+     * Modo por defecto: carga el usuario (puede ser null si ya no existe).
+     */
+    private Collection<? extends GrantedAuthority> authoritiesFromUserDetails(UUID userId) {
+        UserDetails userDetails = userDetailsService.loadUserByUserId(userId);
+        return userDetails != null ? userDetails.getAuthorities() : null;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
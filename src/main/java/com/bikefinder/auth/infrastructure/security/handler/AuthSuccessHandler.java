@@ -1,7 +1,11 @@
 package com.bikefinder.auth.infrastructure.security.handler;
 
 import com.bikefinder.auth.application.port.output.JwtTokenPort;
+import com.bikefinder.auth.domain.model.User;
+import com.bikefinder.auth.domain.repository.UserRepository;
+import com.bikefinder.auth.domain.valueobject.Email;
 import com.bikefinder.auth.domain.valueobject.UserId;
+import com.bikefinder.auth.domain.valueobject.UserStatus;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +18,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
@@ -22,6 +27,7 @@ import java.util.UUID;
 public class AuthSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
 
     private final JwtTokenPort jwtTokenPort;
+    private final UserRepository userRepository;
 
     @Override
     public void onAuthenticationSuccess(
@@ -34,13 +40,16 @@ public class AuthSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
         String email = oauth2User.getAttribute("email");
 
         // En un caso de uso real, aquí buscarías/crearías el usuario
-        // y generarías los tokens. Por ahora, simulamos un UUID.
+        // y generarías los tokens. Por ahora, si el email ya existe se usa ese usuario;
+        // si no, se simula un UUID con el estado de un registro nuevo.
         // Esto se conectará con el UseCase en la capa de aplicación.
-        UUID userId = UUID.randomUUID();
+        Optional<User> existing = email != null ? userRepository.findByEmail(new Email(email)) : Optional.empty();
+        UserId userId = existing.map(User::getId).orElseGet(() -> new UserId(UUID.randomUUID()));
+        UserStatus status = existing.map(User::getStatus).orElse(UserStatus.PENDING_VERIFICATION);
 
-        // Generar tokens (esto se moverá al UseCase)
-        String accessToken = jwtTokenPort.generateAccessToken(new UserId(userId), email);
-        String refreshToken = jwtTokenPort.generateRefreshToken(new UserId(userId));
+        // Generar tokens (esto se moverá al UseCase); el claim status lo usa el modo stateless
+        String accessToken = jwtTokenPort.generateAccessToken(userId, email, status);
+        String refreshToken = jwtTokenPort.generateRefreshToken(userId);
 
         // Redirigir al frontend con los tokens en la URL
         // En producción, mejor usar cookies HttpOnly o enviar al frontend para que los guarde
@@ -0,0 +1,345 @@
+package com.bikefinder.auth.infrastructure.security.jwt;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Conjunto de claves de firma del servicio: una clave activa (firma nuevos tokens)
+ * y N claves de solo verificación (tokens emitidos antes de una rotación).
+ *
+ * La búsqueda por "kid" es un lookup en un Map inmutable — O(1) sin importar
+ * cuántas claves haya — y el snapshot se reemplaza atómicamente en cada recarga,
+ * así que los lectores nunca ven un keyring a medio construir.
+ *
+ * Fuentes de claves:
+ * - auth.jwt.key-dir vacío: una sola clave desde private-key-path/public-key-path
+ *   con el algoritmo de auth.jwt.algorithm (comportamiento original).
+ * - auth.jwt.key-dir configurado: cada clave es un par de archivos
+ *   "{kid}.public.pem" + "{kid}.private.pem" (el privado es opcional salvo para
+ *   la clave activa). El algoritmo se deduce del tipo de clave. La clave activa es
+ *   la que nombra el archivo "active.kid" del directorio (solo el kid); sin ese
+ *   archivo, auth.jwt.key-id. El directorio se relee periódicamente, sin reiniciar.
+ *
+ * Rotación sin downtime (todo en el directorio, sin redeploy):
+ * 1. Copiar el par v2 al directorio (queda publicado en el JWKS y verificable).
+ * 2. Esperar a que los consumidores refresquen el JWKS (su Cache-Control) y escribir
+ *    "v2" en active.kid (escribir a un temporal y renombrar, para que el cambio sea
+ *    atómico): en la próxima recarga v2 firma y v1 pasa a solo verificación.
+ * 3. Borrar el par v1: se mantiene publicado durante la vida de un access token
+ *    (auth.jwt.expiration-ms) y después desaparece del keyring.
+ */
+@Component
+@Slf4j
+public class JwtKeyring {
+
+    private static final String PUBLIC_SUFFIX  = ".public.pem";
+    private static final String PRIVATE_SUFFIX = ".private.pem";
+    private static final String ACTIVE_MARKER  = "active.kid";
+
+    @Value("${auth.jwt.private-key-path}")
+    private Resource privateKeyResource;
+
+    @Value("${auth.jwt.public-key-path}")
+    private Resource publicKeyResource;
+
+    @Value("${auth.jwt.algorithm:RS256}")
+    private String algorithmName;
+
+    @Value("${auth.jwt.key-id}")
+    private String activeKeyId;
+
+    @Value("${auth.jwt.key-dir:}")
+    private String keyDir;
+
+    /**
+     * Una clave que ya no está en el directorio sigue publicada este tiempo,
+     * para que los tokens firmados con ella puedan verificarse hasta expirar.
+     */
+    @Value("${auth.jwt.expiration-ms}")
+    private long retiredKeyGraceMs;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Una clave del keyring. privateKey es null en las claves de solo verificación;
+     * retiredAt indica desde cuándo la clave ya no está en el directorio.
+     */
+    public record JwtKey(
+            String keyId,
+            JwtSigningAlgorithm algorithm,
+            PublicKey publicKey,
+            PrivateKey privateKey,
+            Instant retiredAt
+    ) {
+        public boolean canSign() {
+            return privateKey != null;
+        }
+
+        private JwtKey retire(Instant when) {
+            return new JwtKey(keyId, algorithm, publicKey, null, when);
+        }
+    }
+
+    /**
+     * Estado inmutable del keyring. version cambia con cada modificación y sirve
+     * a los consumidores (ej: JWKS) para detectar cambios sin comparar claves.
+     * published son las mismas claves ordenadas por kid: el orden de Map.copyOf cambia
+     * entre JVMs y el JWKS tiene que ser idéntico byte a byte en todas las réplicas.
+     */
+    private record Snapshot(JwtKey activeKey, Map<String, JwtKey> keysById, List<JwtKey> published,
+                            long version, String fingerprint) {
+
+        Snapshot(JwtKey activeKey, Map<String, JwtKey> keysById, long version, String fingerprint) {
+            this(activeKey, Map.copyOf(keysById), keysById.values().stream()
+                    .sorted(Comparator.comparing(JwtKey::keyId))
+                    .toList(), version, fingerprint);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Inicialización y recarga
+    // -------------------------------------------------------------------------
+
+    @PostConstruct
+    public void init() {
+        if (keyDir.isBlank()) {
+            JwtSigningAlgorithm algorithm = JwtSigningAlgorithm.fromConfig(algorithmName);
+            log.info("Cargando clave JWT única {} (kid={})", algorithm, activeKeyId);
+            JwtKey key = new JwtKey(
+                    activeKeyId,
+                    algorithm,
+                    loadPublicKey(readResource(publicKeyResource), algorithm),
+                    loadPrivateKey(readResource(privateKeyResource), algorithm),
+                    null
+            );
+            this.snapshot = new Snapshot(key, Map.of(activeKeyId, key), 1, null);
+        } else {
+            log.info("Cargando keyring JWT desde {}", keyDir);
+            this.snapshot = loadFromDirectory(null);
+        }
+        log.info("Keyring JWT listo: {} clave(s), activa={}",
+                snapshot.keysById().size(), snapshot.activeKey().keyId());
+    }
+
+    /**
+     * Relee el directorio de claves si cambió y descarta las claves retiradas
+     * cuyo período de gracia venció. Si la recarga falla se conserva el keyring anterior.
+     */
+    @Scheduled(fixedDelayString = "${auth.jwt.key-dir-poll-ms:30000}")
+    public void reload() {
+        if (keyDir.isBlank()) {
+            return;
+        }
+        try {
+            Snapshot current = snapshot;
+            Snapshot next = loadFromDirectory(current);
+            if (next != current) {
+                snapshot = next;
+                log.info("Keyring JWT recargado (versión {}): {}, activa={}",
+                        next.version(), next.keysById().keySet(), next.activeKey().keyId());
+            }
+        } catch (Exception e) {
+            log.error("No se pudo recargar el keyring JWT, se mantiene el anterior: {}", e.getMessage());
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Consultas
+    // -------------------------------------------------------------------------
+
+    public JwtKey activeKey() {
+        return snapshot.activeKey();
+    }
+
+    /**
+     * Lookup O(1) por el "kid" del header del token.
+     */
+    public Optional<JwtKey> findByKeyId(String keyId) {
+        return Optional.ofNullable(snapshot.keysById().get(keyId));
+    }
+
+    /**
+     * Claves a publicar en el JWKS: la activa y las de verificación aún vigentes,
+     * ordenadas por kid (mismo documento y ETag en todas las réplicas).
+     */
+    public List<JwtKey> publishedKeys() {
+        return snapshot.published();
+    }
+
+    public long version() {
+        return snapshot.version();
+    }
+
+    // -------------------------------------------------------------------------
+    // Implementación interna
+    // -------------------------------------------------------------------------
+
+    private Snapshot loadFromDirectory(Snapshot previous) {
+        Path dir = Path.of(keyDir);
+        String fingerprint = fingerprint(dir);
+        Instant now = Instant.now();
+
+        boolean graceExpired = previous != null && previous.keysById().values().stream()
+                .anyMatch(k -> k.retiredAt() != null && isGraceOver(k, now));
+        if (previous != null && fingerprint.equals(previous.fingerprint()) && !graceExpired) {
+            return previous;
+        }
+
+        Map<String, JwtKey> keys = new HashMap<>();
+        for (String keyId : listKeyIds(dir)) {
+            String publicPem = readFile(dir.resolve(keyId + PUBLIC_SUFFIX));
+            JwtSigningAlgorithm algorithm = detectAlgorithm(publicPem, keyId);
+            Path privatePath = dir.resolve(keyId + PRIVATE_SUFFIX);
+            PrivateKey privateKey = Files.exists(privatePath)
+                    ? loadPrivateKey(readFile(privatePath), algorithm)
+                    : null;
+            keys.put(keyId, new JwtKey(keyId, algorithm, loadPublicKey(publicPem, algorithm), privateKey, null));
+        }
+
+        // Claves que desaparecieron del directorio: solo verificación hasta que venza la gracia
+        if (previous != null) {
+            for (JwtKey old : previous.keysById().values()) {
+                if (keys.containsKey(old.keyId())) continue;
+                JwtKey retired = old.retiredAt() != null ? old : old.retire(now);
+                if (!isGraceOver(retired, now)) {
+                    keys.put(retired.keyId(), retired);
+                }
+            }
+        }
+
+        String activeId = readActiveMarker(dir);
+        JwtKey active = keys.get(activeId);
+        if (active == null || !active.canSign()) {
+            throw new IllegalStateException("La clave activa " + activeId
+                    + " no está en " + dir + " o le falta " + activeId + PRIVATE_SUFFIX);
+        }
+
+        long version = previous != null ? previous.version() + 1 : 1;
+        return new Snapshot(active, keys, version, fingerprint);
+    }
+
+    private boolean isGraceOver(JwtKey key, Instant now) {
+        return key.retiredAt().plusMillis(retiredKeyGraceMs).isBefore(now);
+    }
+
+    private List<String> listKeyIds(Path dir) {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + PUBLIC_SUFFIX)) {
+            List<String> keyIds = new ArrayList<>();
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                keyIds.add(name.substring(0, name.length() - PUBLIC_SUFFIX.length()));
+            }
+            return keyIds;
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo leer el directorio de claves " + dir, e);
+        }
+    }
+
+    /**
+     * kid de la clave activa: el contenido de active.kid o, si no existe, auth.jwt.key-id.
+     */
+    private String readActiveMarker(Path dir) {
+        Path marker = dir.resolve(ACTIVE_MARKER);
+        if (!Files.exists(marker)) {
+            return activeKeyId;
+        }
+        String keyId = readFile(marker).trim();
+        if (keyId.isEmpty()) {
+            throw new IllegalStateException(marker + " está vacío");
+        }
+        return keyId;
+    }
+
+    /**
+     * Nombre + fecha de modificación de cada .pem y de active.kid: detecta cambios sin parsear claves.
+     */
+    private String fingerprint(Path dir) {
+        Map<String, Long> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "{*.pem," + ACTIVE_MARKER + "}")) {
+            for (Path path : stream) {
+                files.put(path.getFileName().toString(), Files.getLastModifiedTime(path).toMillis());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo leer el directorio de claves " + dir, e);
+        }
+        return files.toString();
+    }
+
+    private JwtSigningAlgorithm detectAlgorithm(String publicPem, String keyId) {
+        for (JwtSigningAlgorithm algorithm : JwtSigningAlgorithm.values()) {
+            try {
+                loadPublicKey(publicPem, algorithm);
+                return algorithm;
+            } catch (RuntimeException ignored) {
+                // Probar con el siguiente tipo de clave
+            }
+        }
+        throw new IllegalStateException("Tipo de clave no soportado para kid=" + keyId);
+    }
+
+    private PrivateKey loadPrivateKey(String pem, JwtSigningAlgorithm algorithm) {
+        try {
+            KeyFactory kf = KeyFactory.getInstance(algorithm.keyFactoryAlgorithm());
+            return kf.generatePrivate(new PKCS8EncodedKeySpec(decodePem(pem)));
+        } catch (Exception e) {
+            throw new RuntimeException("Error al cargar clave privada " + algorithm.keyFactoryAlgorithm(), e);
+        }
+    }
+
+    private PublicKey loadPublicKey(String pem, JwtSigningAlgorithm algorithm) {
+        try {
+            KeyFactory kf = KeyFactory.getInstance(algorithm.keyFactoryAlgorithm());
+            return kf.generatePublic(new X509EncodedKeySpec(decodePem(pem)));
+        } catch (Exception e) {
+            throw new RuntimeException("Error al cargar clave pública " + algorithm.keyFactoryAlgorithm(), e);
+        }
+    }
+
+    private byte[] decodePem(String pem) {
+        String raw = pem
+                .replaceAll("-----BEGIN [A-Z ]+-----", "")
+                .replaceAll("-----END [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(raw);
+    }
+
+    private String readResource(Resource resource) {
+        try {
+            return resource.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Error al leer clave " + resource.getDescription(), e);
+        }
+    }
+
+    private String readFile(Path path) {
+        try {
+            return Files.readString(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Error al leer clave " + path, e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.bikefinder.auth.infrastructure.security.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+
+/**
+ * Algoritmos de firma soportados para los JWT emitidos por el servicio.
+ * Se elige con auth.jwt.algorithm; el tipo de las claves PEM debe coincidir.
+ *
+ * - RS256: RSA-2048 (default, compatible con todos los clientes).
+ * - ES256: ECDSA sobre P-256 — firma mucho más barata que RSA.
+ * - EdDSA: Ed25519 — firma y verificación rápidas, claves de 32 bytes.
+ */
+public enum JwtSigningAlgorithm {
+
+    RS256("RSA", Jwts.SIG.RS256),
+    ES256("EC", Jwts.SIG.ES256),
+    EdDSA("Ed25519", Jwts.SIG.EdDSA);
+
+    private final String keyFactoryAlgorithm;
+    private final SignatureAlgorithm signatureAlgorithm;
+
+    JwtSigningAlgorithm(String keyFactoryAlgorithm, SignatureAlgorithm signatureAlgorithm) {
+        this.keyFactoryAlgorithm = keyFactoryAlgorithm;
+        this.signatureAlgorithm = signatureAlgorithm;
+    }
+
+    /**
+     * Nombre del algoritmo para java.security.KeyFactory al cargar las claves PEM.
+     */
+    public String keyFactoryAlgorithm() {
+        return keyFactoryAlgorithm;
+    }
+
+    public SignatureAlgorithm signatureAlgorithm() {
+        return signatureAlgorithm;
+    }
+
+    /**
+     * Resuelve el valor configurado sin distinguir mayúsculas ("es256", "EdDSA", "ed25519").
+     */
+    public static JwtSigningAlgorithm fromConfig(String value) {
+        if (value == null || value.isBlank()) {
+            return RS256;
+        }
+        if ("ed25519".equalsIgnoreCase(value.trim())) {
+            return EdDSA;
+        }
+        for (JwtSigningAlgorithm algorithm : values()) {
+            if (algorithm.name().equalsIgnoreCase(value.trim())) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Algoritmo JWT no soportado: " + value
+                + " (valores válidos: RS256, ES256, EdDSA)");
+    }
+}
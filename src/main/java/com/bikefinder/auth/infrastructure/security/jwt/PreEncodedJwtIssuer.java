@@ -0,0 +1,204 @@
+package com.bikefinder.auth.infrastructure.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Emisor de JWT especializado para los tokens del servicio.
+ *
+ * El header ({"kid","alg"}) y los claims estáticos ("iss", "aud") no cambian entre
+ * tokens: se codifican una sola vez por clave y en cada emisión solo se escriben los
+ * campos dinámicos (sub, iat, exp, type, email, roles, status) en un buffer reutilizado
+ * por thread. Evita el HashMap de claims, los Date y la serialización Jackson del
+ * builder de jjwt.
+ *
+ * El resultado es un JWS compacto estándar (mismo JSON que emite jjwt), verificable
+ * por JwtProvider y por cualquier parser JWT.
+ */
+class PreEncodedJwtIssuer {
+
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+    private static final int ES256_COORDINATE_LENGTH = 32;
+
+    private final String staticClaims;
+
+    /**
+     * Plantilla por clave: header ya codificado en Base64URL y un Signature por thread
+     * (java.security.Signature no es thread-safe, pero sí reutilizable tras sign()).
+     */
+    private volatile KeyTemplate template;
+
+    private record KeyTemplate(JwtKeyring.JwtKey key, byte[] encodedHeader, ThreadLocal<Signature> signature) {}
+
+    private static final ThreadLocal<StringBuilder> PAYLOAD_BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    PreEncodedJwtIssuer(String issuer, String audience) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(",\"iss\":");
+        appendJsonString(sb, issuer);
+        sb.append(",\"aud\":[");
+        appendJsonString(sb, audience);
+        sb.append(']');
+        this.staticClaims = sb.toString();
+    }
+
+    /**
+     * Emite un token firmado con la clave indicada (normalmente la activa del keyring).
+     * email, roles y status son opcionales (null = claim omitido).
+     */
+    String issue(JwtKeyring.JwtKey key, UUID subject, String type, String email,
+                 List<String> roles, String status, long issuedAtSeconds, long expiresAtSeconds) {
+        KeyTemplate current = templateFor(key);
+
+        StringBuilder payload = PAYLOAD_BUFFER.get();
+        payload.setLength(0);
+        payload.append("{\"type\":");
+        appendJsonString(payload, type);
+        if (email != null) {
+            payload.append(",\"email\":");
+            appendJsonString(payload, email);
+        }
+        if (roles != null) {
+            payload.append(",\"roles\":[");
+            for (int i = 0; i < roles.size(); i++) {
+                if (i > 0) payload.append(',');
+                appendJsonString(payload, roles.get(i));
+            }
+            payload.append(']');
+        }
+        if (status != null) {
+            payload.append(",\"status\":");
+            appendJsonString(payload, status);
+        }
+        payload.append(",\"sub\":\"").append(subject).append('"');
+        payload.append(staticClaims);
+        payload.append(",\"iat\":").append(issuedAtSeconds);
+        payload.append(",\"exp\":").append(expiresAtSeconds);
+        payload.append('}');
+
+        byte[] encodedPayload = BASE64URL.encode(payload.toString().getBytes(StandardCharsets.UTF_8));
+        byte[] encodedHeader = current.encodedHeader();
+
+        byte[] signingInput = new byte[encodedHeader.length + 1 + encodedPayload.length];
+        System.arraycopy(encodedHeader, 0, signingInput, 0, encodedHeader.length);
+        signingInput[encodedHeader.length] = '.';
+        System.arraycopy(encodedPayload, 0, signingInput, encodedHeader.length + 1, encodedPayload.length);
+
+        byte[] signature = sign(current, signingInput);
+
+        return new StringBuilder(signingInput.length + 1 + (signature.length * 4 + 2) / 3)
+                .append(new String(signingInput, StandardCharsets.US_ASCII))
+                .append('.')
+                .append(BASE64URL.encodeToString(signature))
+                .toString();
+    }
+
+    // -------------------------------------------------------------------------
+    // Implementación interna
+    // -------------------------------------------------------------------------
+
+    private KeyTemplate templateFor(JwtKeyring.JwtKey key) {
+        KeyTemplate current = template;
+        if (current == null || current.key() != key) {
+            // Rotación de clave (o primera emisión): recodificar header y preparar Signature
+            StringBuilder header = new StringBuilder("{\"kid\":");
+            appendJsonString(header, key.keyId());
+            header.append(",\"alg\":\"").append(key.algorithm().name()).append("\"}");
+
+            String jcaName = jcaSignatureName(key.algorithm());
+            current = new KeyTemplate(
+                    key,
+                    BASE64URL.encode(header.toString().getBytes(StandardCharsets.UTF_8)),
+                    ThreadLocal.withInitial(() -> newSignature(jcaName, key))
+            );
+            template = current;
+        }
+        return current;
+    }
+
+    private byte[] sign(KeyTemplate current, byte[] signingInput) {
+        try {
+            Signature signature = current.signature().get();
+            signature.update(signingInput);
+            byte[] raw = signature.sign();
+            return current.key().algorithm() == JwtSigningAlgorithm.ES256
+                    ? derToJose(raw)
+                    : raw;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Error al firmar JWT", e);
+        }
+    }
+
+    private static Signature newSignature(String jcaName, JwtKeyring.JwtKey key) {
+        try {
+            Signature signature = Signature.getInstance(jcaName);
+            signature.initSign(key.privateKey());
+            return signature;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo inicializar la firma " + jcaName, e);
+        }
+    }
+
+    private static String jcaSignatureName(JwtSigningAlgorithm algorithm) {
+        return switch (algorithm) {
+            case RS256 -> "SHA256withRSA";
+            case ES256 -> "SHA256withECDSA";
+            case EdDSA -> "Ed25519";
+        };
+    }
+
+    /**
+     * La JCA devuelve ECDSA como SEQUENCE DER {r, s}; JWS (RFC 7518 §3.4) exige r || s
+     * de 32 bytes cada uno.
+     */
+    private static byte[] derToJose(byte[] der) {
+        int offset = 2;
+        if ((der[1] & 0x80) != 0) {
+            offset += der[1] & 0x7f; // longitud en forma larga
+        }
+        byte[] jose = new byte[2 * ES256_COORDINATE_LENGTH];
+        offset = copyInteger(der, offset, jose, 0);
+        copyInteger(der, offset, jose, ES256_COORDINATE_LENGTH);
+        return jose;
+    }
+
+    private static int copyInteger(byte[] der, int offset, byte[] target, int targetOffset) {
+        int length = der[offset + 1];
+        int start = offset + 2;
+        int end = start + length;
+        // Quitar ceros a la izquierda (DER agrega 0x00 si el bit alto está en 1)
+        while (length > ES256_COORDINATE_LENGTH) {
+            start++;
+            length--;
+        }
+        System.arraycopy(der, start, target, targetOffset + ES256_COORDINATE_LENGTH - length, length);
+        return end;
+    }
+
+    private static void appendJsonString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,125 @@
+package com.bikefinder.auth.infrastructure.security.jwt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * "Epoch" por usuario: los tokens emitidos (iat) antes del epoch se rechazan.
+ *
+ * La fuente de verdad es auth.users.tokens_valid_after (V30): invalidar todos los
+ * tokens de un usuario es un UPDATE de esa fila, sin importar cuántos tenga.
+ * - Refresh tokens: la rotación compara created_at con la columna en la misma
+ *   sentencia SQL (RefreshTokenPortImpl), sin depender de este espejo.
+ * - Access tokens: se validan sin BD contra el espejo en memoria de cada réplica.
+ *   La réplica que invalida lo aplica al momento; las demás lo traen en la próxima
+ *   sincronización (como mucho epoch-sync-interval-ms de demora).
+ *
+ * Solo se guardan usuarios con un epoch reciente: pasado auth.jwt.expiration-ms
+ * cualquier access token anterior al epoch ya expiró por sí solo y la entrada se
+ * descarta, así el mapa queda acotado a los usuarios invalidados en los últimos 15 minutos.
+ */
+@Component
+@Slf4j
+public class TokenEpochRegistry {
+
+    private static final String UPDATE_EPOCH_SQL = """
+            UPDATE auth.users
+               SET tokens_valid_after = ?
+             WHERE id = ? AND (tokens_valid_after IS NULL OR tokens_valid_after < ?)
+            """;
+    private static final String SELECT_EPOCHS_SINCE_SQL =
+            "SELECT id, tokens_valid_after FROM auth.users WHERE tokens_valid_after > ?";
+
+    /**
+     * Margen sobre la marca de sincronización: cubre UPDATEs cuya transacción
+     * todavía no había hecho commit cuando corrió el SELECT anterior.
+     */
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(60);
+
+    private final Map<UUID, Instant> epochs = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate;
+    private final long jwtExpirationMs;
+
+    private volatile Instant syncedSince;
+
+    public TokenEpochRegistry(JdbcTemplate jdbcTemplate,
+                              @Value("${auth.jwt.expiration-ms}") long jwtExpirationMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jwtExpirationMs = jwtExpirationMs;
+    }
+
+    /**
+     * Invalida todos los tokens del usuario emitidos hasta este instante: persiste el
+     * epoch en auth.users (dentro de la transacción en curso, si la hay) y lo aplica
+     * en el espejo local. El epoch nunca retrocede.
+     */
+    public void invalidateTokensIssuedBefore(UUID userId, Instant epoch) {
+        Timestamp timestamp = Timestamp.from(epoch);
+        jdbcTemplate.update(UPDATE_EPOCH_SQL, timestamp, userId, timestamp);
+        apply(userId, epoch);
+    }
+
+    /**
+     * true si un token emitido en issuedAt sigue siendo aceptable para el usuario.
+     * Un token sin iat solo se acepta si el usuario no tiene epoch.
+     */
+    public boolean isCurrent(UUID userId, Instant issuedAt) {
+        Instant epoch = epochs.get(userId);
+        if (epoch == null) {
+            return true;
+        }
+        return issuedAt != null && !issuedAt.isBefore(epoch);
+    }
+
+    /**
+     * Trae los epochs persistidos por otras réplicas desde la última sincronización.
+     * La primera ejecución carga los de la última ventana de access tokens.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${auth.jwt.epoch-sync-interval-ms:5000}")
+    public void sync() {
+        Instant startedAt = Instant.now();
+        Instant oldestRelevant = startedAt.minusMillis(jwtExpirationMs);
+        Instant since = syncedSince;
+        if (since == null || since.isBefore(oldestRelevant)) {
+            since = oldestRelevant;
+        }
+        try {
+            jdbcTemplate.query(SELECT_EPOCHS_SINCE_SQL,
+                    (RowCallbackHandler) rs -> apply(
+                            rs.getObject("id", UUID.class),
+                            rs.getTimestamp("tokens_valid_after").toInstant()),
+                    Timestamp.from(since));
+            syncedSince = startedAt.minus(SYNC_OVERLAP);
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron sincronizar los epochs de tokens: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.jwt.expiration-ms}")
+    public void purgeExpiredEpochs() {
+        Instant limit = Instant.now().minusMillis(jwtExpirationMs);
+        int before = epochs.size();
+        epochs.values().removeIf(epoch -> epoch.isBefore(limit));
+        if (before != epochs.size()) {
+            log.debug("Epochs de tokens expirados descartados: {}", before - epochs.size());
+        }
+    }
+
+    private void apply(UUID userId, Instant epoch) {
+        // iat tiene precisión de segundos: truncar evita rechazar un re-login en el mismo segundo
+        Instant truncated = epoch.truncatedTo(ChronoUnit.SECONDS);
+        epochs.merge(userId, truncated, (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+    }
+}
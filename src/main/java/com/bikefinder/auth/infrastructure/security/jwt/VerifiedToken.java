@@ -0,0 +1,30 @@
+package com.bikefinder.auth.infrastructure.security.jwt;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resultado de verificar un JWT una única vez (firma + expiración).
+ * Contiene los claims que necesitan el filtro y los adapters, de forma que
+ * nadie tenga que volver a parsear el token durante el mismo request.
+ */
+public record VerifiedToken(
+        UUID subject,
+        String type,
+        String email,
+        Instant issuedAt,
+        Instant expiresAt,
+        String keyId,
+        List<String> roles,
+        String status
+) {
+
+    public boolean isAccessToken() {
+        return JwtProvider.TOKEN_TYPE_ACCESS.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return JwtProvider.TOKEN_TYPE_REFRESH.equals(type);
+    }
+}
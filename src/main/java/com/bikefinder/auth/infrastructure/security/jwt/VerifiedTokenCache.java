@@ -0,0 +1,164 @@
+package com.bikefinder.auth.infrastructure.security.jwt;
+
+import com.bikefinder.auth.infrastructure.security.util.TokenHashUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché acotada de access tokens ya verificados, delante de la verificación RS256.
+ * Los clientes mobile envían el mismo access token en cada request durante sus
+ * 15 minutos de vida: con la caché, solo el primer request paga la operación RSA.
+ *
+ * Garantías:
+ * - La clave es el SHA-256 del token (nunca se guarda el token en claro).
+ * - Una entrada nunca se devuelve después del "exp" del propio token.
+ * - invalidateSubject() (logout global) elimina las entradas del usuario y evita que
+ *   una verificación concurrente vuelva a cachearlas (contador de revocaciones,
+ *   re-chequeado después de insertar). No hay revocación de un access token suelto:
+ *   con firma válida se acepta hasta su "exp", esté o no en la caché.
+ * - Solo se cachean verificaciones exitosas; los tokens inválidos siempre se re-verifican.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private static final long EXPIRED_SWEEP_INTERVAL_MS = 1_000;
+
+    private final JwtProvider jwtProvider;
+    private final boolean enabled;
+    private final int maxSize;
+
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final AtomicLong revocations = new AtomicLong();
+    private final AtomicLong lastExpiredSweep = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter expiredEvictions;
+    private final Counter sizeEvictions;
+    private final Counter revokedEvictions;
+
+    public VerifiedTokenCache(JwtProvider jwtProvider,
+                              MeterRegistry meterRegistry,
+                              @Value("${auth.jwt.verified-cache.enabled:false}") boolean enabled,
+                              @Value("${auth.jwt.verified-cache.max-size:10000}") int maxSize) {
+        this.jwtProvider = jwtProvider;
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+
+        this.hits             = meterRegistry.counter("auth.jwt.verified_cache.requests", "result", "hit");
+        this.misses           = meterRegistry.counter("auth.jwt.verified_cache.requests", "result", "miss");
+        this.expiredEvictions = meterRegistry.counter("auth.jwt.verified_cache.evictions", "cause", "expired");
+        this.sizeEvictions    = meterRegistry.counter("auth.jwt.verified_cache.evictions", "cause", "size");
+        this.revokedEvictions = meterRegistry.counter("auth.jwt.verified_cache.evictions", "cause", "revoked");
+        Gauge.builder("auth.jwt.verified_cache.size", entries, Map::size).register(meterRegistry);
+
+        log.info("VerifiedTokenCache {} (max-size={})", enabled ? "habilitada" : "deshabilitada", maxSize);
+    }
+
+    /**
+     * Devuelve el access token verificado, desde la caché si es posible.
+     * Con la caché deshabilitada delega directamente en JwtProvider.
+     */
+    public Optional<VerifiedToken> verifyAccessToken(String token) {
+        if (!enabled) {
+            return jwtProvider.verifyAccessToken(token);
+        }
+
+        String key = TokenHashUtil.hash(token);
+        Instant now = Instant.now();
+
+        VerifiedToken cached = entries.get(key);
+        if (cached != null) {
+            if (isExpired(cached, now)) {
+                if (entries.remove(key, cached)) {
+                    expiredEvictions.increment();
+                }
+            } else {
+                hits.increment();
+                return Optional.of(cached);
+            }
+        }
+
+        misses.increment();
+        long revocationsBefore = revocations.get();
+        Optional<VerifiedToken> verified = jwtProvider.verifyAccessToken(token);
+
+        // Si hubo una revocación mientras verificábamos, no cachear: podría ser este token.
+        // Se vuelve a mirar después del put: una revocación entre el chequeo y el put
+        // no vio la entrada, así que la quitamos nosotros
+        if (verified.isPresent() && revocationsBefore == revocations.get()) {
+            put(key, verified.get(), now);
+            if (revocationsBefore != revocations.get()) {
+                entries.remove(key, verified.get());
+            }
+        }
+        return verified;
+    }
+
+    /**
+     * Señal de revocación de todos los tokens de un usuario (ej: logout en todos los dispositivos).
+     * Recorre la caché (acotada por max-size); es un evento poco frecuente.
+     */
+    public void invalidateSubject(UUID userId) {
+        revocations.incrementAndGet();
+        entries.entrySet().removeIf(entry -> {
+            boolean match = userId.equals(entry.getValue().subject());
+            if (match) revokedEvictions.increment();
+            return match;
+        });
+    }
+
+    // -------------------------------------------------------------------------
+    // Implementación interna
+    // -------------------------------------------------------------------------
+
+    private void put(String key, VerifiedToken token, Instant now) {
+        if (token.expiresAt() == null || isExpired(token, now)) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            makeRoom(now);
+        }
+        entries.put(key, token);
+    }
+
+    /**
+     * Primero intenta liberar entradas expiradas (como mucho una vez por segundo,
+     * para no recorrer la caché en cada miss); si sigue llena, desaloja una entrada cualquiera.
+     */
+    private void makeRoom(Instant now) {
+        long last = lastExpiredSweep.get();
+        if (now.toEpochMilli() - last >= EXPIRED_SWEEP_INTERVAL_MS
+                && lastExpiredSweep.compareAndSet(last, now.toEpochMilli())) {
+            entries.entrySet().removeIf(entry -> {
+                boolean expired = isExpired(entry.getValue(), now);
+                if (expired) expiredEvictions.increment();
+                return expired;
+            });
+        }
+
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() >= maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            sizeEvictions.increment();
+        }
+    }
+
+    private boolean isExpired(VerifiedToken token, Instant now) {
+        return !now.isBefore(token.expiresAt());
+    }
+}
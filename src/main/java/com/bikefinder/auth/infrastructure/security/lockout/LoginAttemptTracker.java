@@ -0,0 +1,309 @@
+package com.bikefinder.auth.infrastructure.security.lockout;
+
+import com.bikefinder.auth.application.port.output.LoginAttemptPort;
+import com.bikefinder.auth.domain.model.Credential;
+import com.bikefinder.auth.domain.valueobject.UserId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Intentos fallidos y bloqueo del login en memoria, con escritura diferida
+ * (write-behind) a auth.credentials.failed_login_attempts / locked_until.
+ *
+ * Un ataque de credential stuffing contra una cuenta ya no es un UPDATE de la misma
+ * fila por intento (contención por el lock de fila): cada intento es un CAS sobre un
+ * AtomicLong y, como mucho, una escritura por usuario cada flush-interval-ms.
+ * - ConcurrentHashMap reparte las claves en bins independientes (striping): los
+ *   usuarios no compiten entre sí, y el mismo usuario no toma ningún lock.
+ * - Estado por usuario empaquetado en un long: (locked_until en segundos << 16) | intentos.
+ *
+ * Exactitud: en esta instancia las decisiones de bloqueo son exactas (el contador es
+ * atómico). Entre réplicas, cada una cuenta sus propios intentos y parte del valor
+ * persistido al ver al usuario por primera vez; la BD queda con el último flush.
+ *
+ * Memoria acotada (max-entries): una entrada vive mientras tiene cambios sin
+ * escribir, está bloqueada o tuvo un fallo en la última ventana de bloqueo. Con el
+ * mapa lleno, el fallo de un usuario nuevo se escribe directo en la BD (incremento
+ * atómico), como antes: el bloqueo nunca se pierde por falta de espacio.
+ *
+ * Métricas: auth.login_attempts.tracked, auth.login_attempts.flushed,
+ * auth.login_attempts.overflow.
+ */
+@Component
+@Slf4j
+public class LoginAttemptTracker implements LoginAttemptPort {
+
+    private static final String FLUSH_FAILURES_SQL = """
+            UPDATE auth.credentials
+               SET failed_login_attempts = ?, locked_until = ?, updated_at = now()
+             WHERE user_id = ?
+            """;
+    private static final String FLUSH_RESET_SQL = """
+            UPDATE auth.credentials
+               SET failed_login_attempts = 0, locked_until = NULL, updated_at = now()
+             WHERE user_id = ? AND (failed_login_attempts > 0 OR locked_until IS NOT NULL)
+            """;
+    private static final String INCREMENT_FAILURES_SQL = """
+            UPDATE auth.credentials
+               SET failed_login_attempts = coalesce(failed_login_attempts, 0) + 1,
+                   locked_until = CASE WHEN coalesce(failed_login_attempts, 0) + 1 >= ?
+                                       THEN ? ELSE locked_until END,
+                   updated_at = now()
+             WHERE user_id = ?
+            """;
+
+    private static final int COUNT_BITS = 16;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long LOCK_SECONDS = TimeUnit.MINUTES.toSeconds(Credential.LOCK_TIME_MINUTES);
+    /** Entrada retirada del mapa: quien la vea vuelve a buscar (o crear) la del usuario. */
+    private static final long RETIRED = -1L;
+
+    private final Map<UUID, Attempts> attempts = new ConcurrentHashMap<>();
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxEntries;
+
+    private final Counter flushed;
+    private final Counter overflow;
+
+    public LoginAttemptTracker(JdbcTemplate jdbcTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${auth.login-attempts.max-entries:100000}") int maxEntries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxEntries = maxEntries;
+        this.flushed  = meterRegistry.counter("auth.login_attempts.flushed");
+        this.overflow = meterRegistry.counter("auth.login_attempts.overflow");
+        Gauge.builder("auth.login_attempts.tracked", attempts, Map::size)
+                .description("Usuarios con intentos fallidos en memoria")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isLocked(UserId userId, Credential persisted) {
+        Attempts entry = attempts.get(userId.value());
+        long state = entry != null ? entry.state.get() : RETIRED;
+        if (state == RETIRED) {
+            return persisted != null && persisted.isLocked();
+        }
+        return isLocked(state, nowSeconds());
+    }
+
+    @Override
+    public boolean recordFailure(UserId userId, Credential persisted) {
+        UUID id = userId.value();
+        Attempts entry = attempts.get(id);
+        if (entry == null && attempts.size() >= maxEntries) {
+            return recordFailureInDatabase(id, persisted);
+        }
+
+        long now = nowSeconds();
+        long next;
+        while (true) {
+            if (entry == null) {
+                entry = attempts.computeIfAbsent(id, k -> new Attempts(seed(persisted)));
+            }
+            long current = entry.state.get();
+            if (current == RETIRED) {
+                attempts.remove(id, entry);
+                entry = null;
+                continue;
+            }
+            int count = count(current);
+            long lockedUntil = lockedUntil(current);
+            if (lockedUntil != 0 && lockedUntil <= now) {
+                // Bloqueo vencido: se empieza de cero, igual que Credential.isLocked()
+                count = 0;
+                lockedUntil = 0;
+            }
+            count = (int) Math.min(count + 1L, COUNT_MASK);
+            if (count >= Credential.MAX_FAILED_ATTEMPTS && lockedUntil == 0) {
+                lockedUntil = now + LOCK_SECONDS;
+            }
+            next = pack(count, lockedUntil);
+            if (entry.state.compareAndSet(current, next)) {
+                break;
+            }
+        }
+
+        entry.lastFailureSeconds = now;
+        dirty.add(id);
+        return isLocked(next, now);
+    }
+
+    @Override
+    public void recordSuccess(UserId userId, Credential persisted) {
+        UUID id = userId.value();
+        Attempts entry = attempts.get(id);
+        boolean persistedState = persisted != null
+                && (persisted.getFailedLoginAttempts() > 0 || persisted.getLockedUntil() != null);
+        if (entry == null && !persistedState) {
+            return;  // caso habitual: nada que resetear ni escribir
+        }
+        if (entry == null && attempts.size() >= maxEntries) {
+            jdbcTemplate.update(FLUSH_RESET_SQL, id);
+            return;
+        }
+        while (true) {
+            if (entry == null) {
+                entry = attempts.computeIfAbsent(id, k -> new Attempts(0));
+            }
+            long current = entry.state.get();
+            if (current == RETIRED) {
+                attempts.remove(id, entry);
+                entry = null;
+            } else if (entry.state.compareAndSet(current, 0)) {
+                break;
+            }
+        }
+        dirty.add(id);
+    }
+
+    /**
+     * Escribe los cambios acumulados (un UPDATE por usuario, en batch) y descarta las
+     * entradas que ya no hacen falta.
+     */
+    @Scheduled(fixedDelayString = "${auth.login-attempts.flush-interval-ms:1000}")
+    public void flush() {
+        long now = nowSeconds();
+        List<Object[]> failures = new ArrayList<>();
+        List<Object[]> resets = new ArrayList<>();
+        for (Iterator<UUID> it = dirty.iterator(); it.hasNext(); ) {
+            UUID id = it.next();
+            it.remove();  // un cambio posterior vuelve a marcarlo
+            Attempts entry = attempts.get(id);
+            long state = entry != null ? entry.state.get() : RETIRED;
+            if (state == RETIRED) {
+                continue;
+            }
+            if (count(state) == 0 && lockedUntil(state) == 0) {
+                resets.add(new Object[]{id});
+            } else {
+                long lockedUntil = lockedUntil(state);
+                failures.add(new Object[]{
+                        count(state),
+                        lockedUntil != 0 ? Timestamp.from(Instant.ofEpochSecond(lockedUntil)) : null,
+                        id});
+            }
+        }
+
+        try {
+            if (!failures.isEmpty()) {
+                jdbcTemplate.batchUpdate(FLUSH_FAILURES_SQL, failures);
+            }
+            if (!resets.isEmpty()) {
+                jdbcTemplate.batchUpdate(FLUSH_RESET_SQL, resets);
+            }
+            flushed.increment(failures.size() + resets.size());
+        } catch (RuntimeException e) {
+            // Se reintenta en el próximo flush; el estado en memoria sigue siendo el válido
+            failures.forEach(row -> dirty.add((UUID) row[2]));
+            resets.forEach(row -> dirty.add((UUID) row[0]));
+            log.warn("No se pudieron escribir los intentos de login: {}", e.getMessage());
+            return;
+        }
+
+        evictIdle(now);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // -------------------------------------------------------------------------
+    // Implementación interna
+    // -------------------------------------------------------------------------
+
+    /**
+     * Una entrada sin cambios pendientes, sin bloqueo vigente y sin fallos en la última
+     * ventana de bloqueo ya está reflejada en la BD: se puede descartar. Se retira con
+     * un CAS al estado RETIRED, así un fallo concurrente nunca se aplica sobre una
+     * entrada ya quitada del mapa (ve RETIRED y crea una nueva).
+     */
+    private void evictIdle(long now) {
+        for (Map.Entry<UUID, Attempts> e : attempts.entrySet()) {
+            Attempts entry = e.getValue();
+            long state = entry.state.get();
+            boolean idle = state != RETIRED
+                    && !dirty.contains(e.getKey())
+                    && !isLocked(state, now)
+                    && (count(state) == 0 || now - entry.lastFailureSeconds > LOCK_SECONDS);
+            if (idle && entry.state.compareAndSet(state, RETIRED)) {
+                attempts.remove(e.getKey(), entry);
+            }
+        }
+    }
+
+    /**
+     * Mapa lleno: incremento atómico en la BD, sin estado en memoria. La decisión usa
+     * el valor leído en el login más este intento.
+     */
+    private boolean recordFailureInDatabase(UUID id, Credential persisted) {
+        overflow.increment();
+        Instant lockUntil = Instant.now().plusSeconds(LOCK_SECONDS);
+        jdbcTemplate.update(INCREMENT_FAILURES_SQL, Credential.MAX_FAILED_ATTEMPTS, Timestamp.from(lockUntil), id);
+        int previous = persisted != null && !persisted.isLocked() ? persisted.getFailedLoginAttempts() : 0;
+        return previous + 1 >= Credential.MAX_FAILED_ATTEMPTS;
+    }
+
+    private static long seed(Credential persisted) {
+        if (persisted == null) {
+            return 0;
+        }
+        Instant lockedUntil = persisted.getLockedUntil();
+        if (lockedUntil != null && !lockedUntil.isAfter(Instant.now())) {
+            return 0;  // bloqueo persistido ya vencido
+        }
+        int count = (int) Math.min(persisted.getFailedLoginAttempts(), COUNT_MASK);
+        return pack(count, lockedUntil != null ? lockedUntil.getEpochSecond() : 0);
+    }
+
+    private static boolean isLocked(long state, long now) {
+        long lockedUntil = lockedUntil(state);
+        return lockedUntil != 0 && lockedUntil > now;
+    }
+
+    private static long pack(int count, long lockedUntilSeconds) {
+        return (lockedUntilSeconds << COUNT_BITS) | count;
+    }
+
+    private static int count(long state) {
+        return (int) (state & COUNT_MASK);
+    }
+
+    private static long lockedUntil(long state) {
+        return state >>> COUNT_BITS;
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    private static final class Attempts {
+        final AtomicLong state;
+        volatile long lastFailureSeconds;
+
+        Attempts(long initialState) {
+            this.state = new AtomicLong(initialState);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.bikefinder.auth.infrastructure.security.ratelimit;
+
+/**
+ * Endpoints públicos con límite de solicitudes. Cada uno se configura con
+ * auth.rate-limit.{propertyName}.ip.* y, si aplica, auth.rate-limit.{propertyName}.email.*
+ */
+public enum RateLimitedEndpoint {
+    LOGIN("login"),
+    REGISTER("register"),
+    PASSWORD_RESET("password-reset"),
+    PASSWORD_RESET_CONFIRM("password-reset-confirm"),
+    RESEND_VERIFICATION("resend-verification");
+
+    private final String propertyName;
+
+    RateLimitedEndpoint(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    public String propertyName() {
+        return propertyName;
+    }
+}
@@ -0,0 +1,243 @@
+package com.bikefinder.auth.infrastructure.security.ratelimit;
+
+import com.bikefinder.auth.domain.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Límite de solicitudes en memoria (token bucket) para los endpoints públicos que
+ * llegan a BCrypt, a la BD o al SMTP: login, registro, reset de password y reenvío
+ * de verificación. Se chequea en el controller, antes de ejecutar el caso de uso: lo
+ * que excede el límite se rechaza con 429 sin costo criptográfico, de BD ni de mail.
+ *
+ * Dos claves por endpoint: la IP del cliente (ClientIpUtil) y el email destino.
+ * Configuración por endpoint y clave:
+ *   auth.rate-limit.{endpoint}.{ip|email}.capacity  ráfaga máxima (0 = sin límite)
+ *   auth.rate-limit.{endpoint}.{ip|email}.period    tiempo en que el bucket se llena de nuevo
+ *
+ * Cada bucket es un único AtomicLong con el "theoretical arrival time" de GCRA
+ * (equivalente a un token bucket de capacity tokens que se recarga en period):
+ * tomar un token es un CAS, sin locks ni timers por clave.
+ *
+ * Memoria acotada: como mucho max-entries buckets por endpoint y clave. Un bucket
+ * lleno equivale a no tener estado y se descarta en el barrido periódico. Con el mapa
+ * lleno, las claves nuevas comparten un arreglo fijo de buckets por hash: el límite
+ * se mantiene (más estricto para las claves que colisionan) y la memoria no crece.
+ *
+ * El estado es por instancia: con N réplicas detrás del load balancer, el límite
+ * efectivo es hasta N veces el configurado.
+ *
+ * Métricas: auth.rate_limit.rejected{endpoint,key}, auth.rate_limit.tracked,
+ * auth.rate_limit.overflow.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    private static final String IP = "ip";
+    private static final String EMAIL = "email";
+    private static final int OVERFLOW_BUCKETS = 1024;
+    private static final int OVERFLOW_SHIFT = Integer.SIZE - Integer.numberOfTrailingZeros(OVERFLOW_BUCKETS);
+    /** Bucket retirado del mapa: quien lo vea vuelve a buscar (o crear) el de la clave. */
+    private static final long RETIRED = Long.MAX_VALUE;
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long origin = System.nanoTime();
+    private final Map<RateLimitedEndpoint, Limit> ipLimits = new EnumMap<>(RateLimitedEndpoint.class);
+    private final Map<RateLimitedEndpoint, Limit> emailLimits = new EnumMap<>(RateLimitedEndpoint.class);
+    private final Counter overflow;
+
+    public RateLimiter(Environment environment,
+                       MeterRegistry meterRegistry,
+                       @Value("${auth.rate-limit.enabled:true}") boolean enabled,
+                       @Value("${auth.rate-limit.max-entries:100000}") int maxEntries) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.overflow = meterRegistry.counter("auth.rate_limit.overflow");
+
+        for (RateLimitedEndpoint endpoint : RateLimitedEndpoint.values()) {
+            register(ipLimits, endpoint, IP, environment, meterRegistry);
+            register(emailLimits, endpoint, EMAIL, environment, meterRegistry);
+        }
+        Gauge.builder("auth.rate_limit.tracked", this, RateLimiter::trackedKeys)
+                .description("Buckets de rate limit en memoria")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Toma un token del bucket de la IP y del email (si hay) para el endpoint.
+     *
+     * @param email email destino de la solicitud; null si el endpoint no tiene
+     * @throws RateLimitExceededException si alguno de los dos buckets está vacío
+     */
+    public void check(RateLimitedEndpoint endpoint, String clientIp, String email) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime() - origin;
+        acquire(ipLimits.get(endpoint), clientIp, now);
+        if (email != null) {
+            acquire(emailLimits.get(endpoint), email.trim().toLowerCase(Locale.ROOT), now);
+        }
+    }
+
+    /**
+     * Descarta los buckets llenos: equivalen a una clave sin estado.
+     */
+    @Scheduled(fixedDelayString = "${auth.rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime() - origin;
+        int removed = 0;
+        for (Map<RateLimitedEndpoint, Limit> limits : List.of(ipLimits, emailLimits)) {
+            for (Limit limit : limits.values()) {
+                removed += limit.sweep(now);
+            }
+        }
+        if (removed > 0) {
+            log.debug("Buckets de rate limit descartados: {}", removed);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Implementación interna
+    // -------------------------------------------------------------------------
+
+    private void acquire(Limit limit, String key, long now) {
+        if (limit == null || key == null) {
+            return;
+        }
+        long waitNanos = limit.tryAcquire(key, now);
+        if (waitNanos > 0) {
+            limit.rejected.increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            throw new RateLimitExceededException(
+                    "Demasiadas solicitudes. Reintente en " + retryAfterSeconds + " segundos", retryAfterSeconds);
+        }
+    }
+
+    private void register(Map<RateLimitedEndpoint, Limit> limits, RateLimitedEndpoint endpoint, String key,
+                          Environment environment, MeterRegistry meterRegistry) {
+        String prefix = "auth.rate-limit." + endpoint.propertyName() + "." + key;
+        int capacity = environment.getProperty(prefix + ".capacity", Integer.class, 0);
+        Duration period = environment.getProperty(prefix + ".period", Duration.class, Duration.ofMinutes(1));
+        if (capacity <= 0) {
+            return;
+        }
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalStateException(prefix + ".period debe ser positivo");
+        }
+        Counter rejected = Counter.builder("auth.rate_limit.rejected")
+                .tag("endpoint", endpoint.propertyName())
+                .tag("key", key)
+                .register(meterRegistry);
+        limits.put(endpoint, new Limit(capacity, period.toNanos(), rejected));
+        log.info("Rate limit {}: {} solicitudes cada {}", prefix, capacity, period);
+    }
+
+    private int trackedKeys() {
+        int total = 0;
+        for (Limit limit : ipLimits.values()) {
+            total += limit.buckets.size();
+        }
+        for (Limit limit : emailLimits.values()) {
+            total += limit.buckets.size();
+        }
+        return total;
+    }
+
+    /**
+     * GCRA: cada bucket guarda el instante teórico (tat) en que quedaría lleno.
+     * Una solicitud avanza tat en interval; se admite mientras tat no quede más de
+     * capacity * interval por delante de ahora.
+     */
+    private final class Limit {
+        final long interval;
+        final long tolerance;
+        final Counter rejected;
+        final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        final AtomicLongArray overflowBuckets = new AtomicLongArray(OVERFLOW_BUCKETS);
+
+        Limit(int capacity, long periodNanos, Counter rejected) {
+            this.interval = Math.max(1, periodNanos / capacity);
+            this.tolerance = interval * capacity;
+            this.rejected = rejected;
+        }
+
+        /**
+         * @return 0 si se admite; si no, cuánto falta (en nanos) para el próximo token
+         */
+        long tryAcquire(String key, long now) {
+            AtomicLong bucket = buckets.get(key);
+            if (bucket == null && buckets.size() >= maxEntries) {
+                overflow.increment();
+                return tryAcquireOverflow(key, now);
+            }
+            while (true) {
+                if (bucket == null) {
+                    bucket = buckets.computeIfAbsent(key, k -> new AtomicLong());
+                }
+                long tat = bucket.get();
+                if (tat == RETIRED) {
+                    buckets.remove(key, bucket);
+                    bucket = null;
+                    continue;
+                }
+                long next = Math.max(tat, now) + interval;
+                if (next - now > tolerance) {
+                    return next - now - tolerance;
+                }
+                if (bucket.compareAndSet(tat, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        private long tryAcquireOverflow(String key, long now) {
+            int index = (key.hashCode() * 0x9E3779B9) >>> OVERFLOW_SHIFT;
+            while (true) {
+                long tat = overflowBuckets.get(index);
+                long next = Math.max(tat, now) + interval;
+                if (next - now > tolerance) {
+                    return next - now - tolerance;
+                }
+                if (overflowBuckets.compareAndSet(index, tat, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        /**
+         * Un bucket con tat vencido está lleno. Se retira con un CAS a RETIRED, así una
+         * solicitud concurrente nunca descuenta de un bucket ya quitado del mapa.
+         */
+        int sweep(long now) {
+            int removed = 0;
+            for (Map.Entry<String, AtomicLong> e : buckets.entrySet()) {
+                AtomicLong bucket = e.getValue();
+                long tat = bucket.get();
+                if (tat != RETIRED && tat <= now && bucket.compareAndSet(tat, RETIRED)) {
+                    buckets.remove(e.getKey(), bucket);
+                    removed++;
+                }
+            }
+            return removed;
+        }
+    }
+}
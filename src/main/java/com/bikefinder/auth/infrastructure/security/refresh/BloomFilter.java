@@ -0,0 +1,100 @@
+package com.bikefinder.auth.infrastructure.security.refresh;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter thread-safe sin locks sobre un AtomicLongArray.
+ *
+ * Las posiciones se derivan de dos enteros de 64 bits (h1, h2) con doble hashing
+ * (Kirsch–Mitzenmacher: g_i = h1 + i·h2). Los llamadores pasan bits de un SHA-256,
+ * que ya están uniformemente distribuidos: no hace falta volver a hashear.
+ *
+ * mightContain() == false es definitivo; true puede ser un falso positivo.
+ * No soporta borrado.
+ */
+final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final LongAdder insertions = new LongAdder();
+
+    private BloomFilter(long bitSize, int hashFunctions) {
+        this.words = new AtomicLongArray(Math.toIntExact(bitSize / Long.SIZE));
+        this.bitSize = bitSize;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * Dimensiona el filtro para expectedInsertions elementos con la tasa de falsos
+     * positivos pedida, sin superar maxBits (si el tope manda, la tasa real será mayor).
+     */
+    static BloomFilter create(long expectedInsertions, double falsePositiveRate, long maxBits) {
+        long n = Math.max(1, expectedInsertions);
+        long optimalBits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2));
+        long bits = Math.max(Long.SIZE, Math.min(optimalBits, maxBits));
+        bits = (bits + Long.SIZE - 1) / Long.SIZE * Long.SIZE;
+        int k = Math.max(1, (int) Math.round((double) bits / n * LN2));
+        return new BloomFilter(bits, k);
+    }
+
+    void put(long h1, long h2) {
+        long combined = h1;
+        for (int i = 0; i < hashFunctions; i++) {
+            setBit((combined & Long.MAX_VALUE) % bitSize);
+            combined += h2;
+        }
+        insertions.increment();
+    }
+
+    boolean mightContain(long h1, long h2) {
+        long combined = h1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = (combined & Long.MAX_VALUE) % bitSize;
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+            combined += h2;
+        }
+        return true;
+    }
+
+    long memoryBytes() {
+        return bitSize / Byte.SIZE;
+    }
+
+    long insertions() {
+        return insertions.sum();
+    }
+
+    int hashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * Tasa de falsos positivos actual estimada por la proporción de bits en 1: (bits1/m)^k.
+     * Recorre todo el arreglo; pensado para métricas, no para el camino caliente.
+     */
+    double estimatedFalsePositiveRate() {
+        long setBits = 0;
+        for (int i = 0; i < words.length(); i++) {
+            setBits += Long.bitCount(words.get(i));
+        }
+        return Math.pow((double) setBits / bitSize, hashFunctions);
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!words.compareAndSet(word, current, current | mask));
+    }
+}
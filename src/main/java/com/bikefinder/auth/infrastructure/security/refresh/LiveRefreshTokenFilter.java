@@ -0,0 +1,244 @@
+package com.bikefinder.auth.infrastructure.security.refresh;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filtro en memoria de los hashes de refresh tokens que pueden estar vigentes.
+ * Si el filtro dice que un hash no está, el token no existe (o ya expiró) y se
+ * rechaza sin consultar auth.refresh_tokens: los bots que reenvían tokens muertos
+ * dejan de generar carga en la BD.
+ *
+ * Contenido:
+ * - Reconstrucción completa periódica desde la BD (tokens con expires_at > now()),
+ *   dimensionada según la cantidad real de tokens vivos.
+ * - Cada INSERT de RefreshTokenPortImpl agrega su hash al momento.
+ * - Los tokens revocados NO se quitan (un Bloom filter no admite borrado) y además
+ *   deben seguir llegando a la BD: presentar un token revocado es un reuso y dispara
+ *   la revocación de su familia. Salen del filtro al expirar, en la próxima reconstrucción.
+ *
+ * Varias instancias: un token emitido por otra réplica no está en este filtro.
+ * Antes de rechazar, se sincronizan los hashes creados desde la última sincronización
+ * (un SELECT por created_at, como mucho uno cada sync-interval-ms sin importar
+ * cuántos requests fallen). Solo se rechaza si esa sincronización corrió en esta misma
+ * llamada y el hash sigue sin aparecer; si no hubo sincronización (intervalo no
+ * cumplido, otro thread la está haciendo o falló el SELECT), la consulta va a la BD.
+ * Así un token válido nunca se rechaza por error.
+ *
+ * Hasta que termina la primera construcción, todas las consultas van a la BD.
+ */
+@Component
+@Slf4j
+public class LiveRefreshTokenFilter {
+
+    private static final String COUNT_LIVE_SQL =
+            "SELECT count(*) FROM auth.refresh_tokens WHERE expires_at > now()";
+    private static final String SELECT_LIVE_SQL =
+            "SELECT token_hash FROM auth.refresh_tokens WHERE expires_at > now()";
+    private static final String SELECT_CREATED_SINCE_SQL =
+            "SELECT token_hash FROM auth.refresh_tokens WHERE created_at > ?";
+
+    /**
+     * Margen sobre la marca de sincronización: cubre INSERTs cuya transacción
+     * todavía no había hecho commit cuando corrió el SELECT anterior.
+     */
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(60);
+    private static final long MIN_CAPACITY = 10_000;
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final long maxBits;
+    private final long syncIntervalMs;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter building;
+    private volatile Instant syncedSince;
+    private final AtomicLong lastSyncMs = new AtomicLong();
+
+    private final Counter absent;
+    private final Counter maybePresent;
+    private final Counter notReady;
+    private final Counter unsynced;
+    private final Counter fullRebuilds;
+    private final Counter incrementalSyncs;
+
+    public LiveRefreshTokenFilter(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${auth.refresh-filter.enabled:false}") boolean enabled,
+                                  @Value("${auth.refresh-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                  @Value("${auth.refresh-filter.max-memory-kb:4096}") long maxMemoryKb,
+                                  @Value("${auth.refresh-filter.sync-interval-ms:1000}") long syncIntervalMs) {
+        // JdbcTemplate propio con fetchSize: el driver de PostgreSQL trae las filas por
+        // bloques (dentro de una transacción) en lugar de materializar todos los hashes
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxBits = maxMemoryKb * 1024 * Byte.SIZE;
+        this.syncIntervalMs = syncIntervalMs;
+
+        this.absent           = meterRegistry.counter("auth.refresh_token.filter.lookups", "result", "absent");
+        this.maybePresent     = meterRegistry.counter("auth.refresh_token.filter.lookups", "result", "maybe_present");
+        this.notReady         = meterRegistry.counter("auth.refresh_token.filter.lookups", "result", "not_ready");
+        this.unsynced         = meterRegistry.counter("auth.refresh_token.filter.lookups", "result", "unsynced");
+        this.fullRebuilds     = meterRegistry.counter("auth.refresh_token.filter.syncs", "type", "full");
+        this.incrementalSyncs = meterRegistry.counter("auth.refresh_token.filter.syncs", "type", "incremental");
+
+        Gauge.builder("auth.refresh_token.filter.memory", this, f -> f.current != null ? f.current.memoryBytes() : 0)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("auth.refresh_token.filter.insertions", this, f -> f.current != null ? f.current.insertions() : 0)
+                .register(meterRegistry);
+        Gauge.builder("auth.refresh_token.filter.false_positive_rate", this,
+                        f -> f.current != null ? f.current.estimatedFalsePositiveRate() : 0)
+                .description("Tasa de falsos positivos estimada según el llenado actual")
+                .register(meterRegistry);
+        Gauge.builder("auth.refresh_token.filter.false_positive_rate.target", () -> falsePositiveRate)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra el hash de un refresh token recién insertado.
+     * Los hashes son SHA-256 (TokenHashUtil.hashBytes): sus bytes ya son uniformes.
+     */
+    public void add(byte[] tokenHash) {
+        if (!enabled) {
+            return;
+        }
+        ByteBuffer digest = ByteBuffer.wrap(tokenHash);
+        long h1 = digest.getLong(0);
+        long h2 = digest.getLong(8);
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(h1, h2);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(h1, h2);
+        }
+    }
+
+    /**
+     * true solo si es seguro que el token no existe o ya expiró (no hace falta ir a la BD).
+     */
+    public boolean isDefinitelyAbsent(byte[] tokenHash) {
+        if (!enabled) {
+            return false;
+        }
+        BloomFilter filter = current;
+        if (filter == null) {
+            notReady.increment();
+            return false;
+        }
+
+        ByteBuffer digest = ByteBuffer.wrap(tokenHash);
+        long h1 = digest.getLong(0);
+        long h2 = digest.getLong(8);
+        if (filter.mightContain(h1, h2)) {
+            maybePresent.increment();
+            return false;
+        }
+
+        // Puede haberlo emitido otra réplica después de la última sincronización:
+        // sin una sincronización completa en esta llamada no hay certeza, va a la BD
+        if (!syncRecentTokens()) {
+            unsynced.increment();
+            return false;
+        }
+        if (current.mightContain(h1, h2)) {
+            maybePresent.increment();
+            return false;
+        }
+
+        absent.increment();
+        return true;
+    }
+
+    /**
+     * Reconstrucción completa: descarta los tokens expirados y redimensiona el filtro
+     * según la cantidad de tokens vivos (con margen x2 para el crecimiento hasta la próxima).
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${auth.refresh-filter.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Instant startedAt = Instant.now();
+            Long live = jdbcTemplate.queryForObject(COUNT_LIVE_SQL, Long.class);
+            long capacity = Math.max(MIN_CAPACITY, (live != null ? live : 0) * 2);
+
+            BloomFilter next = BloomFilter.create(capacity, falsePositiveRate, maxBits);
+            building = next;  // los INSERT concurrentes también van al filtro nuevo
+            readOnlyTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.query(SELECT_LIVE_SQL, (RowCallbackHandler) rs -> put(next, rs.getBytes(1))));
+
+            syncedSince = startedAt.minus(SYNC_OVERLAP);
+            current = next;
+            building = null;
+            fullRebuilds.increment();
+            log.info("Filtro de refresh tokens reconstruido: {} tokens vivos, {} KB, k={}",
+                    next.insertions(), next.memoryBytes() / 1024, next.hashFunctions());
+        } catch (RuntimeException e) {
+            building = null;
+            log.error("No se pudo reconstruir el filtro de refresh tokens, se mantiene el anterior: {}", e.getMessage());
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Implementación interna
+    // -------------------------------------------------------------------------
+
+    /**
+     * Trae los hashes creados desde la última sincronización. Limitado a una ejecución
+     * por sync-interval-ms: una ráfaga de tokens inválidos cuesta a lo sumo un SELECT
+     * por intervalo. Devuelve true solo si esta llamada completó la sincronización.
+     */
+    private boolean syncRecentTokens() {
+        long now = System.currentTimeMillis();
+        long last = lastSyncMs.get();
+        if (now - last < syncIntervalMs || !lastSyncMs.compareAndSet(last, now)) {
+            return false;
+        }
+        BloomFilter filter = current;
+        Instant since = syncedSince;
+        Instant startedAt = Instant.now();
+        try {
+            jdbcTemplate.query(SELECT_CREATED_SINCE_SQL,
+                    (RowCallbackHandler) rs -> put(filter, rs.getBytes(1)),
+                    Timestamp.from(since));
+            syncedSince = startedAt.minus(SYNC_OVERLAP);
+            incrementalSyncs.increment();
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("No se pudo sincronizar el filtro de refresh tokens: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static void put(BloomFilter filter, byte[] tokenHash) {
+        ByteBuffer digest = ByteBuffer.wrap(tokenHash);
+        filter.put(digest.getLong(0), digest.getLong(8));
+    }
+}
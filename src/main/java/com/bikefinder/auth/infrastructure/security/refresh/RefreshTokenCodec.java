@@ -0,0 +1,255 @@
+package com.bikefinder.auth.infrastructure.security.refresh;
+
+import com.bikefinder.auth.infrastructure.security.token.SecureTokenGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Formato autovalidable de refresh token: rt1.{payload}.{mac}
+ *
+ * - payload: Base64URL(expiración en segundos epoch (8 bytes) + id aleatorio de
+ *            auth.tokens.entropy-bits bits, de SecureTokenGenerator)
+ * - mac:     Base64URL(HMAC-SHA256("rt1." + payload) truncado a 16 bytes) con el secreto del servidor
+ *
+ * verify() descarta en memoria (sin hash ni BD) tokens mal formados, adulterados o
+ * expirados; solo los que pasan siguen a la búsqueda por hash para el estado de revocación.
+ * La BD sigue siendo la fuente de verdad: el MAC prueba que lo emitimos nosotros, no que siga vigente.
+ *
+ * Migración:
+ * - accept-legacy=true: los tokens sin firma (UUID-UUID, o los opacos emitidos sin
+ *   secreto configurado) siguen yendo a la BD.
+ *   Pasado el TTL del refresh token (7 días) desde el despliegue ya no quedan vigentes
+ *   y se puede desactivar.
+ * - Sin secreto configurado se emiten tokens opacos (SecureTokenGenerator) sin
+ *   verificación previa: todos van a la BD.
+ * - Rotación del secreto: el nuevo va en secret y el anterior en previous-secret
+ *   (se aceptan ambos, se firma con el nuevo).
+ *
+ * Métrica: auth.refresh_token.precheck{result=signed|legacy|malformed|bad_signature|expired}.
+ */
+@Component
+@Slf4j
+public class RefreshTokenCodec {
+
+    private static final String PREFIX = "rt1.";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 16;
+    private static final int MIN_SECRET_LENGTH = 32;
+
+    /**
+     * Largo del id aceptado al verificar: no depende de la entropía configurada hoy,
+     * así un cambio de auth.tokens.entropy-bits no invalida los tokens ya emitidos.
+     */
+    private static final int MIN_ID_LENGTH = 16;
+    private static final int MAX_ID_LENGTH = 64;
+
+    /** Largos en Base64URL sin padding. */
+    private static final int MIN_PAYLOAD_CHARS = base64Length(Long.BYTES + MIN_ID_LENGTH);
+    private static final int MAX_PAYLOAD_CHARS = base64Length(Long.BYTES + MAX_ID_LENGTH);
+    private static final int MAC_CHARS = base64Length(MAC_LENGTH);
+
+    /** Formato anterior: dos UUID separados por '-'. */
+    private static final int LEGACY_LENGTH = 36 + 1 + 36;
+    private static final int MIN_OPAQUE_CHARS = base64Length(MIN_ID_LENGTH);
+    private static final int MAX_OPAQUE_CHARS = base64Length(MAX_ID_LENGTH);
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final List<SecretKeySpec> keys;
+    private final ThreadLocal<Mac[]> macs;
+    private final boolean acceptLegacy;
+    private final SecureTokenGenerator tokenGenerator;
+
+    private final Counter signed;
+    private final Counter legacy;
+    private final Counter malformed;
+    private final Counter badSignature;
+    private final Counter expired;
+
+    public RefreshTokenCodec(MeterRegistry meterRegistry,
+                             SecureTokenGenerator tokenGenerator,
+                             @Value("${auth.refresh-token.secret:}") String secret,
+                             @Value("${auth.refresh-token.previous-secret:}") String previousSecret,
+                             @Value("${auth.refresh-token.accept-legacy:true}") boolean acceptLegacy) {
+        this.tokenGenerator = tokenGenerator;
+        this.keys = new ArrayList<>();
+        addKey(secret, "auth.refresh-token.secret");
+        if (!keys.isEmpty()) {
+            addKey(previousSecret, "auth.refresh-token.previous-secret");
+        }
+        this.macs = ThreadLocal.withInitial(this::newMacs);
+        this.acceptLegacy = acceptLegacy;
+
+        this.signed       = meterRegistry.counter("auth.refresh_token.precheck", "result", "signed");
+        this.legacy       = meterRegistry.counter("auth.refresh_token.precheck", "result", "legacy");
+        this.malformed    = meterRegistry.counter("auth.refresh_token.precheck", "result", "malformed");
+        this.badSignature = meterRegistry.counter("auth.refresh_token.precheck", "result", "bad_signature");
+        this.expired      = meterRegistry.counter("auth.refresh_token.precheck", "result", "expired");
+
+        if (keys.isEmpty()) {
+            log.warn("auth.refresh-token.secret no configurado: se emiten refresh tokens sin firma");
+        }
+    }
+
+    /**
+     * Emite un refresh token nuevo que expira en expiresAt.
+     */
+    public String issue(Instant expiresAt) {
+        if (keys.isEmpty()) {
+            return tokenGenerator.generate();
+        }
+        byte[] id = new byte[Math.min(Math.max(tokenGenerator.entropyBytes(), MIN_ID_LENGTH), MAX_ID_LENGTH)];
+        tokenGenerator.nextBytes(id);
+        ByteBuffer payload = ByteBuffer.allocate(Long.BYTES + id.length);
+        payload.putLong(expiresAt.getEpochSecond());
+        payload.put(id);
+
+        String signedPart = PREFIX + ENCODER.encodeToString(payload.array());
+        return signedPart + "." + ENCODER.encodeToString(mac(macs.get()[0], signedPart));
+    }
+
+    /**
+     * true si el token puede ser válido y hay que consultar la BD; false si se puede
+     * rechazar ya (mal formado, firma inválida o expirado).
+     */
+    public boolean verify(String rawToken) {
+        if (rawToken == null) {
+            malformed.increment();
+            return false;
+        }
+        if (keys.isEmpty()) {
+            legacy.increment();  // sin secreto no hay nada que verificar en memoria
+            return true;
+        }
+        if (!rawToken.startsWith(PREFIX)) {
+            if (acceptLegacy && isLegacyFormat(rawToken)) {
+                legacy.increment();
+                return true;
+            }
+            malformed.increment();
+            return false;
+        }
+        int separator = rawToken.length() - MAC_CHARS - 1;
+        int payloadChars = separator - PREFIX.length();
+        if (payloadChars < MIN_PAYLOAD_CHARS || payloadChars > MAX_PAYLOAD_CHARS
+                || rawToken.charAt(separator) != '.') {
+            malformed.increment();
+            return false;
+        }
+
+        String signedPart = rawToken.substring(0, separator);
+        byte[] payload;
+        byte[] presentedMac;
+        try {
+            payload = DECODER.decode(signedPart.substring(PREFIX.length()));
+            presentedMac = DECODER.decode(rawToken.substring(signedPart.length() + 1));
+        } catch (IllegalArgumentException e) {
+            malformed.increment();
+            return false;
+        }
+
+        if (!matchesAnyKey(signedPart, presentedMac)) {
+            badSignature.increment();
+            return false;
+        }
+        long expiresAt = ByteBuffer.wrap(payload).getLong();
+        if (expiresAt <= Instant.now().getEpochSecond()) {
+            expired.increment();
+            return false;
+        }
+        signed.increment();
+        return true;
+    }
+
+    // -------------------------------------------------------------------------
+    // Implementación interna
+    // -------------------------------------------------------------------------
+
+    private boolean matchesAnyKey(String signedPart, byte[] presentedMac) {
+        for (Mac mac : macs.get()) {
+            if (MessageDigest.isEqual(mac(mac, signedPart), presentedMac)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] mac(Mac mac, String signedPart) {
+        byte[] full = mac.doFinal(signedPart.getBytes(StandardCharsets.US_ASCII));
+        byte[] truncated = new byte[MAC_LENGTH];
+        System.arraycopy(full, 0, truncated, 0, MAC_LENGTH);
+        return truncated;
+    }
+
+    private static int base64Length(int bytes) {
+        return (bytes * 4 + 2) / 3;
+    }
+
+    private static boolean isLegacyFormat(String token) {
+        if (token.length() >= MIN_OPAQUE_CHARS && token.length() <= MAX_OPAQUE_CHARS && isBase64Url(token)) {
+            return true;  // opaco de SecureTokenGenerator (emitido sin secreto)
+        }
+        if (token.length() != LEGACY_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < LEGACY_LENGTH; i++) {
+            char c = token.charAt(i);
+            boolean dash = i == 8 || i == 13 || i == 18 || i == 23 || i == 36
+                    || i == 45 || i == 50 || i == 55 || i == 60;
+            if (dash ? c != '-' : Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBase64Url(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (!(c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '-' || c == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addKey(String secret, String property) {
+        if (secret == null || secret.isBlank()) {
+            return;
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException(property + " debe tener al menos " + MIN_SECRET_LENGTH + " bytes");
+        }
+        keys.add(new SecretKeySpec(bytes, HMAC_ALGORITHM));
+    }
+
+    /** Mac no es thread-safe: una instancia inicializada por clave y por thread. */
+    private Mac[] newMacs() {
+        try {
+            Mac[] result = new Mac[keys.size()];
+            for (int i = 0; i < keys.size(); i++) {
+                result[i] = Mac.getInstance(HMAC_ALGORITHM);
+                result[i].init(keys.get(i));
+            }
+            return result;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo inicializar " + HMAC_ALGORITHM, e);
+        }
+    }
+}
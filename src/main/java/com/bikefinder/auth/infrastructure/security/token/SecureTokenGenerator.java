@@ -0,0 +1,78 @@
+package com.bikefinder.auth.infrastructure.security.token;
+
+import com.bikefinder.auth.application.port.output.SecureTokenPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import static java.security.DrbgParameters.Capability.NONE;
+
+/**
+ * Generador de tokens aleatorios de alto throughput.
+ *
+ * UUID.randomUUID() comparte un único SecureRandom (sincronizado) entre todos los threads,
+ * aporta solo 122 bits por UUID y arma objetos UUID/String intermedios. Acá cada thread
+ * tiene su propio DRBG (NIST SP 800-90A, Hash_DRBG con fuerza de 256 bits) sembrado desde
+ * la fuente de entropía del sistema: no hay contención entre threads y los bytes se
+ * codifican directo a Base64URL sin padding.
+ *
+ * auth.tokens.entropy-bits fija la entropía de los tokens opacos (mínimo 128):
+ * 256 bits = 43 caracteres.
+ */
+@Component
+@Slf4j
+public class SecureTokenGenerator implements SecureTokenPort {
+
+    private static final int MIN_ENTROPY_BITS = 128;
+    private static final int DRBG_STRENGTH = 256;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final ThreadLocal<SecureRandom> DRBG = ThreadLocal.withInitial(SecureTokenGenerator::newDrbg);
+
+    private final int entropyBytes;
+
+    public SecureTokenGenerator(@Value("${auth.tokens.entropy-bits:256}") int entropyBits) {
+        if (entropyBits < MIN_ENTROPY_BITS) {
+            throw new IllegalStateException("auth.tokens.entropy-bits debe ser al menos " + MIN_ENTROPY_BITS);
+        }
+        this.entropyBytes = (entropyBits + Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    /**
+     * Token opaco de entropy-bits bits en Base64URL.
+     */
+    @Override
+    public String generate() {
+        byte[] bytes = new byte[entropyBytes];
+        DRBG.get().nextBytes(bytes);
+        return ENCODER.encodeToString(bytes);
+    }
+
+    public int entropyBytes() {
+        return entropyBytes;
+    }
+
+    /**
+     * Llena el arreglo con bytes aleatorios del DRBG del thread (ej: id de un refresh token firmado).
+     */
+    public void nextBytes(byte[] bytes) {
+        DRBG.get().nextBytes(bytes);
+    }
+
+    private static SecureRandom newDrbg() {
+        try {
+            return SecureRandom.getInstance("DRBG",
+                    DrbgParameters.instantiation(DRBG_STRENGTH, NONE, null));
+        } catch (NoSuchAlgorithmException e) {
+            // Sin DRBG (JVM no estándar): el SecureRandom por defecto, igual uno por thread
+            log.warn("DRBG no disponible, se usa el SecureRandom por defecto: {}", e.getMessage());
+            return new SecureRandom();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.bikefinder.auth.infrastructure.security.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * IP del cliente: el primer valor de X-Forwarded-For (detrás del load balancer) o,
+ * sin el header, la dirección remota de la conexión.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ClientIpUtil {
+
+    public static String resolve(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            return xForwardedFor.split(",")[0].trim();
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -10,29 +10,76 @@ import java.util.Base64;
 /**
  * Utility para hashing de tokens (SHA-256 determinístico).
  * No usar para passwords (para eso usar BCrypt).
+ *
+ * Reutiliza un MessageDigest y un buffer de bytes por thread: sin getInstance()
+ * (búsqueda de provider) ni String.getBytes() en cada llamada.
  */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class TokenHashUtil {
 
     private static final String ALGORITHM = "SHA-256";
 
+    /** Largo del hash binario (columna bytea de refresh_tokens.token_hash). */
+    public static final int HASH_LENGTH = 32;
+
+    /** Los tokens que emitimos son ASCII y caben acá; los más largos usan un buffer temporal. */
+    private static final int BUFFER_SIZE = 512;
+
+    private static final ThreadLocal<HashState> STATE = ThreadLocal.withInitial(HashState::new);
+
     /**
-     * Genera hash SHA-256 de un token (determinístico, para búsqueda en BD)
+     * Genera el hash SHA-256 binario (32 bytes) de un token (determinístico, para búsqueda en BD)
      */
-    public static String hash(String rawToken) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance(ALGORITHM);
-            byte[] hashBytes = digest.digest(rawToken.getBytes(StandardCharsets.UTF_8));
-            return Base64.getUrlEncoder().withoutPadding().encodeToString(hashBytes);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Error al hashear token", e);
+    public static byte[] hashBytes(String rawToken) {
+        HashState state = STATE.get();
+        MessageDigest digest = state.digest;
+        int length = rawToken.length();
+        if (length <= BUFFER_SIZE && encodeAscii(rawToken, state.buffer)) {
+            digest.update(state.buffer, 0, length);
+        } else {
+            digest.update(rawToken.getBytes(StandardCharsets.UTF_8));
         }
+        return digest.digest();  // digest() también resetea para la próxima llamada
+    }
+
+    /**
+     * Genera hash SHA-256 de un token en Base64URL (claves en memoria, ej: VerifiedTokenCache)
+     */
+    public static String hash(String rawToken) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hashBytes(rawToken));
     }
 
     /**
      * Verifica si un raw token coincide con un hash almacenado
      */
-    public static boolean matches(String rawToken, String storedHash) {
-        return hash(rawToken).equals(storedHash);
+    public static boolean matches(String rawToken, byte[] storedHash) {
+        return MessageDigest.isEqual(hashBytes(rawToken), storedHash);
+    }
+
+    /**
+     * Copia los caracteres al buffer si son todos ASCII (1 char = 1 byte en UTF-8).
+     */
+    private static boolean encodeAscii(String value, byte[] buffer) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                return false;
+            }
+            buffer[i] = (byte) c;
+        }
+        return true;
+    }
+
+    private static final class HashState {
+        private final MessageDigest digest;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+
+        private HashState() {
+            try {
+                this.digest = MessageDigest.getInstance(ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException("Error al hashear token", e);
+            }
+        }
     }
 }
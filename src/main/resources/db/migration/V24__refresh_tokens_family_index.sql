@@ -0,0 +1,8 @@
+-- Revocación de familias de refresh tokens (reuso detectado / revokeFamilyTokens).
+-- Índice parcial: solo los tokens aún vigentes, que son los únicos que el UPDATE
+-- "WHERE family_id = ? AND revoked_at IS NULL" necesita encontrar.
+-- CONCURRENTLY: no bloquea escrituras en refresh_tokens mientras se construye
+-- (Flyway lo ejecuta fuera de transacción).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_family_active
+    ON auth.refresh_tokens (family_id)
+    WHERE revoked_at IS NULL;
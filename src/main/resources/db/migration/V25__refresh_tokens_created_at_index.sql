@@ -0,0 +1,5 @@
+-- Sincronización incremental del filtro en memoria de refresh tokens vivos
+-- ("WHERE created_at > ?"): trae solo los tokens emitidos por otras réplicas
+-- desde la última sincronización, sin recorrer la tabla.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_created_at
+    ON auth.refresh_tokens (created_at);
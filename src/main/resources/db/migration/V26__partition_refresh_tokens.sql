@@ -0,0 +1,54 @@
+-- auth.refresh_tokens particionada por RANGE (expires_at), una partición por día (UTC).
+-- Los tokens expirados se eliminan con DROP TABLE de la partición completa
+-- (RefreshTokenPartitionManager), sin DELETE fila a fila ni presión sobre VACUUM.
+--
+-- Cambios de esquema que impone el particionado:
+-- - La PK debe incluir la clave de partición: (id, expires_at). El mapeo JPA sigue
+--   usando solo id (UUID aleatorio, único en la práctica).
+-- - token_hash deja de tener UNIQUE global (PostgreSQL solo admite unicidad que incluya
+--   expires_at). Es el SHA-256 de un token aleatorio: una colisión no es realista.
+--
+-- Solo se copian los tokens vigentes: los expirados no sirven para nada.
+-- La copia corre con la tabla bloqueada; refresh_tokens solo tiene los tokens de los
+-- últimos 7 días, así que la ventana es corta. Conviene aplicarla en horario de baja carga.
+
+LOCK TABLE auth.refresh_tokens IN ACCESS EXCLUSIVE MODE;
+
+CREATE TABLE auth.refresh_tokens_partitioned (
+    LIKE auth.refresh_tokens INCLUDING DEFAULTS INCLUDING GENERATED
+) PARTITION BY RANGE (expires_at);
+
+-- Particiones desde el día actual hasta 14 días adelante (mismo horizonte que
+-- auth.refresh-tokens.partitions.premake-days); el scheduler las extiende desde ahí
+DO $$
+DECLARE
+    day date := (now() AT TIME ZONE 'UTC')::date;
+BEGIN
+    FOR i IN 0..14 LOOP
+        EXECUTE format(
+            'CREATE TABLE auth.%I PARTITION OF auth.refresh_tokens_partitioned FOR VALUES FROM (%L) TO (%L)',
+            'refresh_tokens_p' || to_char(day + i, 'YYYYMMDD'),
+            ((day + i)::timestamp AT TIME ZONE 'UTC'),
+            ((day + i + 1)::timestamp AT TIME ZONE 'UTC'));
+    END LOOP;
+END $$;
+
+INSERT INTO auth.refresh_tokens_partitioned
+SELECT * FROM auth.refresh_tokens
+ WHERE expires_at > now();
+
+DROP TABLE auth.refresh_tokens;
+ALTER TABLE auth.refresh_tokens_partitioned RENAME TO refresh_tokens;
+
+ALTER TABLE auth.refresh_tokens
+    ADD CONSTRAINT refresh_tokens_pkey PRIMARY KEY (id, expires_at);
+ALTER TABLE auth.refresh_tokens
+    ADD CONSTRAINT refresh_tokens_user_id_fkey FOREIGN KEY (user_id)
+        REFERENCES auth.users (id) ON DELETE CASCADE;
+
+-- Índices sobre la tabla padre: PostgreSQL los crea en cada partición, incluidas las
+-- que agregue el scheduler. Reemplazan a los de V24/V25 (eliminados con la tabla vieja).
+CREATE INDEX idx_refresh_tokens_token_hash ON auth.refresh_tokens (token_hash);
+CREATE INDEX idx_refresh_tokens_user_id ON auth.refresh_tokens (user_id);
+CREATE INDEX idx_refresh_tokens_family_active ON auth.refresh_tokens (family_id) WHERE revoked_at IS NULL;
+CREATE INDEX idx_refresh_tokens_created_at ON auth.refresh_tokens (created_at);
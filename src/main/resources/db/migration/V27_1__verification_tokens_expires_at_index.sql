@@ -0,0 +1,5 @@
+-- Purga por lotes de verification_tokens (TokenPurgeJob), ver V27.
+-- CONCURRENTLY: no bloquea escrituras mientras se construye. Debe ser la única
+-- sentencia del script (Flyway lo ejecuta fuera de transacción).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_verification_tokens_expires_at
+    ON auth.verification_tokens (expires_at);
@@ -0,0 +1,10 @@
+-- Índices para la purga por lotes (TokenPurgeJob): cada lote busca sus filas
+-- con LIMIT sin recorrer la tabla completa. El de verification_tokens va en V27_1:
+-- CONCURRENTLY no puede ir en el mismo script que una sentencia transaccional.
+
+-- Parcial: solo los revocados, que son los candidatos a purga.
+-- PostgreSQL no admite CONCURRENTLY sobre una tabla particionada; refresh_tokens
+-- solo guarda los tokens de los últimos días, así que el bloqueo es breve.
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_revoked_at
+    ON auth.refresh_tokens (revoked_at)
+    WHERE revoked_at IS NOT NULL;
@@ -0,0 +1,17 @@
+-- refresh_tokens.token_hash: de texto Base64URL (43 caracteres) a SHA-256 binario (bytea, 32 bytes).
+-- PostgreSQL no tiene bytea(n): el largo se fija con un CHECK.
+--
+-- Migración de las filas existentes: el Base64URL sin padding se pasa a Base64 estándar
+-- ('-' -> '+', '_' -> '/', más el '=' final) y se decodifica. ALTER COLUMN ... TYPE
+-- reescribe cada partición y reconstruye sus índices (incluido idx_refresh_tokens_token_hash)
+-- con la tabla bloqueada; con el particionado de V26 solo contiene los tokens vigentes.
+--
+-- Despliegue: la versión anterior de la aplicación escribe texto y esta escribe bytea,
+-- así que las réplicas viejas deben detenerse antes de aplicar la migración.
+
+ALTER TABLE auth.refresh_tokens
+    ALTER COLUMN token_hash TYPE bytea
+    USING decode(translate(token_hash, '-_', '+/') || '=', 'base64');
+
+ALTER TABLE auth.refresh_tokens
+    ADD CONSTRAINT refresh_tokens_token_hash_length CHECK (octet_length(token_hash) = 32);
@@ -0,0 +1,14 @@
+-- Sesiones activas (/auth/sessions): una sesión es una familia de refresh tokens y su
+-- token vigente es el único con revoked_at IS NULL. Se guardan user-agent e IP del
+-- login; las rotaciones los heredan.
+ALTER TABLE auth.refresh_tokens
+    ADD COLUMN user_agent varchar(512),
+    ADD COLUMN ip_address varchar(64);
+
+-- Listado paginado por keyset sobre (created_at, id) de los tokens vigentes de un usuario.
+-- Cubriente (INCLUDE): la página se resuelve con un index-only scan, sin leer el heap.
+-- Parcial: los tokens ya rotados/revocados (la mayoría de las filas) no entran al índice.
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_sessions
+    ON auth.refresh_tokens (user_id, created_at DESC, id DESC)
+    INCLUDE (family_id, expires_at, user_agent, ip_address)
+    WHERE revoked_at IS NULL;
@@ -0,0 +1,6 @@
+-- Sincronización incremental del espejo en memoria de cada réplica (TokenEpochRegistry):
+-- "WHERE tokens_valid_after > ?" recorre solo los usuarios invalidados recientemente.
+-- CONCURRENTLY: debe ser la única sentencia del script (Flyway lo ejecuta fuera de transacción).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_tokens_valid_after
+    ON auth.users (tokens_valid_after)
+    WHERE tokens_valid_after IS NOT NULL;
@@ -0,0 +1,7 @@
+-- Epoch de invalidación por usuario: todo token (access o refresh) emitido antes de
+-- tokens_valid_after se rechaza. "Cerrar sesión en todos lados" y el cambio de
+-- password cuestan un UPDATE de esta fila, sin importar cuántos tokens tenga el usuario.
+-- NULL = nunca invalidado (ADD COLUMN sin DEFAULT no reescribe la tabla).
+-- El índice va en V30_1: CONCURRENTLY no puede ir en un script transaccional.
+ALTER TABLE auth.users
+    ADD COLUMN tokens_valid_after timestamptz;
@@ -0,0 +1,294 @@
+package com.bikefinder.auth.infrastructure.security.refresh;
+
+import com.bikefinder.auth.infrastructure.security.token.SecureTokenGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * verify() y el reconocimiento de formatos legacy de RefreshTokenCodec.
+ * Cada caso además comprueba el resultado registrado en auth.refresh_token.precheck.
+ */
+class RefreshTokenCodecTest {
+
+    private static final String SECRET = "secreto-de-prueba-de-al-menos-32-bytes!!";
+    private static final String OTHER_SECRET = "otro-secreto-de-prueba-de-32-bytes-o-mas";
+    private static final Duration TTL = Duration.ofDays(7);
+
+    private MeterRegistry meterRegistry;
+    private SecureTokenGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        generator = new SecureTokenGenerator(256);
+    }
+
+    @Nested
+    class TokensFirmados {
+
+        @Test
+        void aceptaUnTokenValido() {
+            RefreshTokenCodec codec = codec(SECRET, "", true);
+
+            String token = codec.issue(Instant.now().plus(TTL));
+
+            assertThat(token).startsWith("rt1.");
+            assertThat(codec.verify(token)).isTrue();
+            assertThat(precheck("signed")).isEqualTo(1);
+        }
+
+        @Test
+        void rechazaUnPayloadAdulterado() {
+            RefreshTokenCodec codec = codec(SECRET, "", true);
+            String token = codec.issue(Instant.now().plus(TTL));
+
+            assertThat(codec.verify(flipChar(token, "rt1.".length() + 12))).isFalse();
+            assertThat(precheck("bad_signature")).isEqualTo(1);
+        }
+
+        @Test
+        void rechazaUnMacAdulterado() {
+            RefreshTokenCodec codec = codec(SECRET, "", true);
+            String token = codec.issue(Instant.now().plus(TTL));
+
+            assertThat(codec.verify(flipChar(token, token.length() - 10))).isFalse();
+            assertThat(precheck("bad_signature")).isEqualTo(1);
+        }
+
+        @Test
+        void rechazaUnTokenConMacDeOtroSecreto() {
+            String token = codec(OTHER_SECRET, "", true).issue(Instant.now().plus(TTL));
+
+            assertThat(codec(SECRET, "", true).verify(token)).isFalse();
+            assertThat(precheck("bad_signature")).isEqualTo(1);
+        }
+
+        @Test
+        void rechazaUnTokenExpirado() {
+            RefreshTokenCodec codec = codec(SECRET, "", true);
+
+            assertThat(codec.verify(codec.issue(Instant.now().minusSeconds(1)))).isFalse();
+            assertThat(codec.verify(codec.issue(Instant.now()))).isFalse();
+            assertThat(precheck("expired")).isEqualTo(2);
+        }
+
+        @Test
+        void aceptaTokensFirmadosConElSecretoAnterior() {
+            String token = codec(OTHER_SECRET, "", true).issue(Instant.now().plus(TTL));
+
+            RefreshTokenCodec rotated = codec(SECRET, OTHER_SECRET, true);
+
+            assertThat(rotated.verify(token)).isTrue();
+            assertThat(precheck("signed")).isEqualTo(1);
+        }
+
+        @Test
+        void firmaConElSecretoNuevoDespuesDeRotar() {
+            RefreshTokenCodec rotated = codec(SECRET, OTHER_SECRET, true);
+            String token = rotated.issue(Instant.now().plus(TTL));
+
+            assertThat(codec(SECRET, "", true).verify(token)).isTrue();
+            assertThat(codec(OTHER_SECRET, "", true).verify(token)).isFalse();
+        }
+
+        @Test
+        void rechazaTokensNulosOSinSeparador() {
+            RefreshTokenCodec codec = codec(SECRET, "", true);
+            String token = codec.issue(Instant.now().plus(TTL));
+            int separator = token.lastIndexOf('.');
+
+            assertThat(codec.verify(null)).isFalse();
+            assertThat(codec.verify("rt1.")).isFalse();
+            assertThat(codec.verify(token.substring(0, separator) + "_" + token.substring(separator + 1))).isFalse();
+            assertThat(precheck("malformed")).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    class LargoDelPayload {
+
+        @Test
+        void aceptaLosIdsDelLargoMinimoYMaximo() {
+            RefreshTokenCodec codec = codec(SECRET, "", true);
+            Instant expiresAt = Instant.now().plus(TTL);
+
+            assertThat(codec.verify(sign(SECRET, expiresAt, 16))).isTrue();
+            assertThat(codec.verify(sign(SECRET, expiresAt, 64))).isTrue();
+            assertThat(precheck("signed")).isEqualTo(2);
+        }
+
+        @Test
+        void rechazaIdsFueraDeRangoAunqueElMacSeaValido() {
+            RefreshTokenCodec codec = codec(SECRET, "", true);
+            Instant expiresAt = Instant.now().plus(TTL);
+
+            assertThat(codec.verify(sign(SECRET, expiresAt, 15))).isFalse();
+            assertThat(codec.verify(sign(SECRET, expiresAt, 65))).isFalse();
+            assertThat(precheck("malformed")).isEqualTo(2);
+        }
+
+        @Test
+        void losTokensEmitidosConOtraEntropiaSiguenVerificando() {
+            Instant expiresAt = Instant.now().plus(TTL);
+            String minimal = codec(new SecureTokenGenerator(128), SECRET, "", true).issue(expiresAt);
+            String maximal = codec(new SecureTokenGenerator(512), SECRET, "", true).issue(expiresAt);
+            String clamped = codec(new SecureTokenGenerator(1024), SECRET, "", true).issue(expiresAt);
+
+            RefreshTokenCodec codec = codec(SECRET, "", true);
+
+            assertThat(codec.verify(minimal)).isTrue();
+            assertThat(codec.verify(maximal)).isTrue();
+            assertThat(codec.verify(clamped)).isTrue();
+            assertThat(clamped).hasSameSizeAs(maximal);
+        }
+    }
+
+    @Nested
+    class FormatosLegacy {
+
+        @Test
+        void aceptaUuidUuidConAcceptLegacy() {
+            RefreshTokenCodec codec = codec(SECRET, "", true);
+
+            assertThat(codec.verify(UUID.randomUUID() + "-" + UUID.randomUUID())).isTrue();
+            assertThat(precheck("legacy")).isEqualTo(1);
+        }
+
+        @Test
+        void rechazaUuidUuidSinAcceptLegacy() {
+            RefreshTokenCodec codec = codec(SECRET, "", false);
+
+            assertThat(codec.verify(UUID.randomUUID() + "-" + UUID.randomUUID())).isFalse();
+            assertThat(precheck("malformed")).isEqualTo(1);
+        }
+
+        @Test
+        void rechazaUuidUuidConCaracteresFueraDeAmbosFormatos() {
+            RefreshTokenCodec codec = codec(SECRET, "", true);
+            String token = UUID.randomUUID() + "-" + UUID.randomUUID();
+
+            assertThat(codec.verify(token.substring(0, 36) + "+" + token.substring(37))).isFalse();
+            assertThat(codec.verify(token.substring(0, 40) + "." + token.substring(41))).isFalse();
+            assertThat(precheck("malformed")).isEqualTo(2);
+        }
+
+        @Test
+        void unUuidUuidConCaracteresBase64UrlCuentaComoOpaco() {
+            RefreshTokenCodec codec = codec(SECRET, "", true);
+            String token = UUID.randomUUID() + "-" + UUID.randomUUID();
+
+            // 'g' no es hexadecimal pero sí Base64URL: el largo (73) entra en el rango de los opacos
+            assertThat(codec.verify(token.substring(0, 40) + "g" + token.substring(41))).isTrue();
+            assertThat(codec.verify(token.substring(1))).isTrue();
+            assertThat(precheck("legacy")).isEqualTo(2);
+        }
+
+        @Test
+        void aceptaTokensOpacosConAcceptLegacy() {
+            RefreshTokenCodec codec = codec(SECRET, "", true);
+
+            assertThat(codec.verify(generator.generate())).isTrue();
+            assertThat(precheck("legacy")).isEqualTo(1);
+        }
+
+        @Test
+        void rechazaTokensOpacosSinAcceptLegacy() {
+            RefreshTokenCodec codec = codec(SECRET, "", false);
+
+            assertThat(codec.verify(generator.generate())).isFalse();
+            assertThat(precheck("malformed")).isEqualTo(1);
+        }
+
+        @Test
+        void respetaLosLargosDeLosTokensOpacos() {
+            RefreshTokenCodec codec = codec(SECRET, "", true);
+
+            assertThat(codec.verify("A".repeat(22))).isTrue();
+            assertThat(codec.verify("A".repeat(86))).isTrue();
+            assertThat(codec.verify("A".repeat(21))).isFalse();
+            assertThat(codec.verify("A".repeat(87))).isFalse();
+            assertThat(codec.verify("A".repeat(21) + "+")).isFalse();
+        }
+
+        @Test
+        void sinSecretoEmiteOpacosYTodoVaALaBd() {
+            RefreshTokenCodec codec = codec("", "", false);
+
+            String token = codec.issue(Instant.now().plus(TTL));
+
+            assertThat(token).doesNotStartWith("rt1.");
+            assertThat(codec.verify(token)).isTrue();
+            assertThat(codec.verify("cualquier cosa")).isTrue();
+            assertThat(precheck("legacy")).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void rechazaSecretosCortos() {
+        assertThatThrownBy(() -> codec("corto", "", true))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("auth.refresh-token.secret");
+        assertThatThrownBy(() -> codec(SECRET, "corto", true))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("auth.refresh-token.previous-secret");
+    }
+
+    // -------------------------------------------------------------------------
+    // Utilidades
+    // -------------------------------------------------------------------------
+
+    private RefreshTokenCodec codec(String secret, String previousSecret, boolean acceptLegacy) {
+        return codec(generator, secret, previousSecret, acceptLegacy);
+    }
+
+    private RefreshTokenCodec codec(SecureTokenGenerator tokenGenerator, String secret,
+                                    String previousSecret, boolean acceptLegacy) {
+        return new RefreshTokenCodec(meterRegistry, tokenGenerator, secret, previousSecret, acceptLegacy);
+    }
+
+    private double precheck(String result) {
+        return meterRegistry.counter("auth.refresh_token.precheck", "result", result).count();
+    }
+
+    /** Reemplaza un carácter Base64URL por otro también válido: el token sigue bien formado. */
+    private static String flipChar(String token, int index) {
+        char replacement = token.charAt(index) == 'A' ? 'B' : 'A';
+        return token.substring(0, index) + replacement + token.substring(index + 1);
+    }
+
+    /** Arma un token rt1 con un id de idLength bytes, firmado igual que RefreshTokenCodec.issue(). */
+    private static String sign(String secret, Instant expiresAt, int idLength) {
+        byte[] id = new byte[idLength];
+        Arrays.fill(id, (byte) 7);
+        ByteBuffer payload = ByteBuffer.allocate(Long.BYTES + idLength);
+        payload.putLong(expiresAt.getEpochSecond());
+        payload.put(id);
+
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String signedPart = "rt1." + encoder.encodeToString(payload.array());
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] full = mac.doFinal(signedPart.getBytes(StandardCharsets.US_ASCII));
+            return signedPart + "." + encoder.encodeToString(Arrays.copyOf(full, 16));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}